@@ -1,6 +1,7 @@
 plugins {
     id("java")
     id("net.neoforged.moddev") version "2.0.+"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 version = project.property("mod_version")!!
@@ -14,6 +15,11 @@ java {
 
 neoForge {
     version = "21.1.209"
+
+    // Benchmarks build PerlinSimplexNoise samplers, so they need Minecraft on the classpath.
+    addModdingDependenciesTo(sourceSets["jmh"])
+    // Unit tests drive VerticalSectionManager directly and need Minecraft types on the classpath.
+    addModdingDependenciesTo(sourceSets["test"])
 }
 
 repositories {
@@ -32,7 +38,16 @@ tasks.withType<JavaCompile>().configureEach {
 }
 
 tasks.test {
-    enabled = false
+    useJUnitPlatform()
+}
+
+// ./gradlew jmh — terrain height benchmarks in src/jmh/java.
+// The gc profiler adds allocation rate (gc.alloc.rate.norm = bytes per operation).
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    profilers = listOf("gc")
 }
 
 tasks.processResources {
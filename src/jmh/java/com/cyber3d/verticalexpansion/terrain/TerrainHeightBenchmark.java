@@ -0,0 +1,129 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+import com.cyber3d.verticalexpansion.worldgen.VerticalExpansionPresets;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.levelgen.synth.PerlinSimplexNoise;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-column cost of the terrain height stack.
+ *
+ * Scores are ns/column: each invocation evaluates a whole batch and reports it via
+ * OperationsPerInvocation. Run with ./gradlew jmh; the gc profiler configured in
+ * build.gradle.kts reports gc.alloc.rate.norm, which is bytes per column here.
+ *
+ * Access patterns:
+ * - random: columns scattered over +-1M blocks, so every layer misses the memo.
+ * - chunkSequential: one chunk per invocation, walking along x, the way worldgen asks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TerrainHeightBenchmark {
+
+    private static final int RANDOM_COLUMNS = 4096;
+    private static final int CHUNK_COLUMNS = 16 * 16;
+    private static final int RANDOM_RANGE = 1_000_000;
+    private static final long TERRAIN_BASE_SEED = 12345L;
+
+    @Param({"STANDARD", "MODERATE", "EXTREME"})
+    public String profileName;
+
+    private WorldTerrainProfile profile;
+    private NoiseBasedTerrainHeightFunction heightFunction;
+    private final int[] randomX = new int[RANDOM_COLUMNS];
+    private final int[] randomZ = new int[RANDOM_COLUMNS];
+    private int chunkX;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        profile = switch (profileName) {
+            case "STANDARD" -> VerticalExpansionPresets.TerrainProfiles.STANDARD;
+            case "MODERATE" -> VerticalExpansionPresets.TerrainProfiles.MODERATE;
+            case "EXTREME" -> VerticalExpansionPresets.TerrainProfiles.EXTREME;
+            default -> throw new IllegalArgumentException("Unknown profile: " + profileName);
+        };
+
+        // Same sampler wiring as WorldGenInitializer.
+        heightFunction = new NoiseBasedTerrainHeightFunction(
+            new PerlinNoiseSampler(createNoise(1001), profile.continentsScale()),
+            new PerlinNoiseSampler(createNoise(1002), profile.erosionScale()),
+            new PerlinNoiseSampler(createNoise(1003), profile.ridgeScale()),
+            new PerlinNoiseSampler(createNoise(1004), profile.valleyScale()),
+            new PerlinNoiseSampler(createNoise(1005), profile.detailScale()),
+            new PerlinNoiseSampler(createNoise(1006), profile.ravineFrequency()),
+            new PerlinNoiseSampler(createNoise(1007), 0.0015)
+        );
+
+        Random random = new Random(42L);
+        for (int i = 0; i < RANDOM_COLUMNS; i++) {
+            randomX[i] = random.nextInt(2 * RANDOM_RANGE) - RANDOM_RANGE;
+            randomZ[i] = random.nextInt(2 * RANDOM_RANGE) - RANDOM_RANGE;
+        }
+        chunkX = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANDOM_COLUMNS)
+    public void computeHeightRandom(Blackhole bh) {
+        for (int i = 0; i < RANDOM_COLUMNS; i++) {
+            bh.consume(heightFunction.computeHeight(randomX[i], randomZ[i], profile));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_COLUMNS)
+    public void computeHeightChunkSequential(Blackhole bh) {
+        int originX = nextChunkX() << 4;
+        for (int dz = 0; dz < 16; dz++) {
+            for (int dx = 0; dx < 16; dx++) {
+                bh.consume(heightFunction.computeHeight(originX + dx, dz, profile));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RANDOM_COLUMNS)
+    public void computeContinentalnessRandom(Blackhole bh) {
+        for (int i = 0; i < RANDOM_COLUMNS; i++) {
+            bh.consume(heightFunction.computeContinentalness(randomX[i], randomZ[i], profile));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_COLUMNS)
+    public void computeContinentalnessChunkSequential(Blackhole bh) {
+        int originX = nextChunkX() << 4;
+        for (int dz = 0; dz < 16; dz++) {
+            for (int dx = 0; dx < 16; dx++) {
+                bh.consume(heightFunction.computeContinentalness(originX + dx, dz, profile));
+            }
+        }
+    }
+
+    private int nextChunkX() {
+        // Wrap well inside the int block range so long runs never overflow.
+        int x = chunkX;
+        chunkX = (chunkX + 1) & 0xFFFFF;
+        return x;
+    }
+
+    private static PerlinSimplexNoise createNoise(int seed) {
+        RandomSource random = RandomSource.create(TERRAIN_BASE_SEED + seed);
+        return new PerlinSimplexNoise(random, new IntArrayList(new int[]{0}));
+    }
+}
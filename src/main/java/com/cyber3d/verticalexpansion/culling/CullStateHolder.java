@@ -0,0 +1,10 @@
+package com.cyber3d.verticalexpansion.culling;
+
+/**
+ * Implemented on Entity (EntityMixin) and on chunk block-entity tickers
+ * (RebindableTickingBlockEntityWrapperMixin), so culling state lives on the owner and goes
+ * away with it.
+ */
+public interface CullStateHolder {
+    SectionCullState verticalexpansion$cullState();
+}
@@ -1,16 +1,32 @@
 package com.cyber3d.verticalexpansion.culling;
 
+import com.cyber3d.verticalexpansion.vertical.SectionTier;
 import com.cyber3d.verticalexpansion.vertical.VerticalIntegration;
+import com.cyber3d.verticalexpansion.vertical.VerticalSectionManager;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.Level;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.tick.EntityTickEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entity ticks follow the section tiers: full rate in ACTIVE sections, one tick in
+ * haloTickInterval in HALO sections, none in FROZEN sections. Skipped ticks are counted on
+ * the entity's SectionCullState and paid back coarsely by EntityCatchUp on the next tick the
+ * entity is allowed. The tier itself is cached there too, see SectionCullState.
+ */
 @EventBusSubscriber(modid = "verticalexpansion")
 public final class CullingEvents {
 
@@ -24,27 +40,48 @@ public final class CullingEvents {
             return;
         }
         
-        if (shouldCullEntity(entity)) {
+        SectionCullState state = ((CullStateHolder) entity).verticalexpansion$cullState();
+        if (shouldSkipTick(entity, state)) {
             event.setCanceled(true);
+            state.skippedTicks++;
             culledEntitiesCount++;
         }
     }
 
-    private static boolean shouldCullEntity(Entity entity) {
-        var manager = VerticalIntegration.getManager();
+    private static boolean shouldSkipTick(Entity entity, SectionCullState state) {
+        var manager = VerticalIntegration.getManager(entity.level().dimension());
         if (manager == null) {
             return false;
         }
         
         var config = manager.getConfig();
         int minY = config.worldHeightConfig().minY();
-        int sectionIndex = ((int) entity.getY() - minY) >> 4;
+        int chunkX = entity.getBlockX() >> 4;
+        int chunkZ = entity.getBlockZ() >> 4;
+        int sectionIndex = (entity.getBlockY() - minY) >> 4;
+        long gameTime = entity.level().getGameTime();
+        long generation = manager.getColumnGeneration(chunkX, chunkZ);
+        
+        if (!state.isValid(chunkX, chunkZ, sectionIndex, generation, gameTime)) {
+            state.store(chunkX, chunkZ, sectionIndex, generation, gameTime,
+                manager.getSectionTier(chunkX, chunkZ, sectionIndex));
+        }
+        SectionTier tier = state.tier;
+        
+        int haloInterval = config.haloTickInterval();
+        if (tier == SectionTier.FROZEN) {
+            return true;
+        }
+        // Stagger halo ticks by entity id so they don't all land on the same server tick.
+        if (tier == SectionTier.HALO && (gameTime + entity.getId()) % haloInterval != 0) {
+            return true;
+        }
         
-        return !manager.isSectionActive(
-            ((int) entity.getX()) >> 4,
-            ((int) entity.getZ()) >> 4,
-            sectionIndex
-        );
+        if (state.skippedTicks > 0) {
+            EntityCatchUp.apply(entity, state.skippedTicks, haloInterval);
+            state.skippedTicks = 0;
+        }
+        return false;
     }
 
     public static long getCulledEntitiesCount() {
@@ -55,30 +92,85 @@ public final class CullingEvents {
         culledEntitiesCount = 0;
     }
 
+    /**
+     * Neighbor notifications in inactive sections are cancelled but not lost: they are kept in
+     * DeferredNeighborUpdates and replayed, within neighborReplayBudget per tick, once their
+     * section is active again, so redstone and fluids resume instead of staying stuck.
+     */
     @EventBusSubscriber(modid = "verticalexpansion")
     public static class ServerBlockCulling {
 
         private static final Logger LOGGER = LoggerFactory.getLogger("VerticalExpansion");
         private static long culledBlockUpdatesCount = 0;
+        private static long replayedBlockUpdatesCount = 0;
+        private static long droppedBlockUpdatesCount = 0;
+        private static final Map<ResourceKey<Level>, DeferredNeighborUpdates> deferredUpdates = new HashMap<>();
 
         @SubscribeEvent
         public static void onBlockNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
-            if (event.getLevel().isClientSide()) {
+            if (!(event.getLevel() instanceof ServerLevel level)) {
+                return;
+            }
+            var manager = VerticalIntegration.getManager(level.dimension());
+            if (manager == null) {
                 return;
             }
             
-            if (shouldCullBlock(event.getPos().getX(), event.getPos().getY(), event.getPos().getZ(), event.getLevel())) {
+            if (shouldCullBlock(event.getPos().getX(), event.getPos().getY(), event.getPos().getZ(), manager)) {
                 event.setCanceled(true);
                 culledBlockUpdatesCount++;
+                DeferredNeighborUpdates pending = deferredUpdates.computeIfAbsent(level.dimension(), k -> new DeferredNeighborUpdates());
+                if (!pending.defer(event.getPos(), manager.getConfig().maxDeferredNeighborUpdates())) {
+                    droppedBlockUpdatesCount++;
+                }
             }
         }
 
-        private static boolean shouldCullBlock(int x, int y, int z, LevelAccessor level) {
-            var manager = VerticalIntegration.getManager();
-            if (manager == null) {
-                return false;
+        @SubscribeEvent
+        public static void onLevelTickPost(LevelTickEvent.Post event) {
+            if (!(event.getLevel() instanceof ServerLevel level)) {
+                return;
             }
-            
+            SectionTickSuppression.replayDeferredTicks(level);
+            DeferredNeighborUpdates pending = deferredUpdates.get(level.dimension());
+            var manager = VerticalIntegration.getManager(level.dimension());
+            if (pending == null || manager == null) {
+                return;
+            }
+            replayedBlockUpdatesCount += pending.replay(level, manager, manager.getConfig().neighborReplayBudget());
+        }
+
+        @SubscribeEvent
+        public static void onChunkUnload(ChunkEvent.Unload event) {
+            if (!(event.getLevel() instanceof ServerLevel level)) {
+                return;
+            }
+            // Unload fires before the chunk is saved, so restored scheduled ticks are saved with it.
+            SectionTickSuppression.restoreDeferredTicks(level, event.getChunk().getPos().x, event.getChunk().getPos().z);
+            DeferredNeighborUpdates pending = deferredUpdates.get(level.dimension());
+            if (pending == null) {
+                return;
+            }
+            pending.dropColumn(event.getChunk().getPos().x, event.getChunk().getPos().z,
+                level.getMinSection(), level.getMaxSection());
+        }
+
+        @SubscribeEvent
+        public static void onLevelSave(LevelEvent.Save event) {
+            if (event.getLevel() instanceof ServerLevel level) {
+                SectionTickSuppression.restoreAllDeferredTicks(level);
+            }
+        }
+
+        @SubscribeEvent
+        public static void onLevelUnload(LevelEvent.Unload event) {
+            if (event.getLevel() instanceof ServerLevel level) {
+                deferredUpdates.remove(level.dimension());
+                SectionTickSuppression.dropDeferredTicks(level);
+            }
+        }
+
+        private static boolean shouldCullBlock(int x, int y, int z, VerticalSectionManager manager) {
             var config = manager.getConfig();
             int minY = config.worldHeightConfig().minY();
             int sectionIndex = (y - minY) >> 4;
@@ -90,8 +182,19 @@ public final class CullingEvents {
             return culledBlockUpdatesCount;
         }
 
+        public static long getReplayedBlockUpdatesCount() {
+            return replayedBlockUpdatesCount;
+        }
+
+        /** Notifications cancelled while the per-level deferred set was full, so never replayed. */
+        public static long getDroppedBlockUpdatesCount() {
+            return droppedBlockUpdatesCount;
+        }
+
         public static void resetBlockCulledCount() {
             culledBlockUpdatesCount = 0;
+            replayedBlockUpdatesCount = 0;
+            droppedBlockUpdatesCount = 0;
         }
     }
 }
@@ -0,0 +1,120 @@
+package com.cyber3d.verticalexpansion.culling;
+
+import com.cyber3d.verticalexpansion.vertical.VerticalSectionManager;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Neighbor notifications suppressed in inactive sections of one level, waiting to be replayed.
+ *
+ * Design notes:
+ * - Positions are packed with BlockPos#asLong and grouped per section (SectionPos#asLong) in a
+ *   LongOpenHashSet, so repeated notifications from the same block coalesce into one entry.
+ * - Which sections have become active is only re-checked when the manager's mask generation
+ *   changes; between changes, replay just continues down the list it already found.
+ * - Replay re-fires updateNeighborsAt for every side. A suppressed update may have excluded one
+ *   side, so this can notify a neighbor vanilla would have skipped, which is harmless.
+ * - Server-thread only.
+ */
+final class DeferredNeighborUpdates {
+
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> pendingBySection = new Long2ObjectOpenHashMap<>();
+    private final LongArrayList readySections = new LongArrayList();
+    private long scannedGeneration = -1;
+    private int pendingPositions;
+
+    /**
+     * Remember a notification at pos. Returns false, dropping it, once maxPending positions are held.
+     */
+    boolean defer(BlockPos pos, int maxPending) {
+        long sectionKey = SectionPos.asLong(pos);
+        LongOpenHashSet positions = pendingBySection.get(sectionKey);
+        if (positions == null) {
+            if (pendingPositions >= maxPending) {
+                return false;
+            }
+            positions = new LongOpenHashSet();
+            pendingBySection.put(sectionKey, positions);
+        } else if (pendingPositions >= maxPending && !positions.contains(pos.asLong())) {
+            return false;
+        }
+        if (positions.add(pos.asLong())) {
+            pendingPositions++;
+        }
+        return true;
+    }
+
+    /**
+     * Replay up to budget notifications from sections that are active again. Returns the number
+     * replayed.
+     */
+    int replay(ServerLevel level, VerticalSectionManager manager, int budget) {
+        if (pendingBySection.isEmpty()) {
+            return 0;
+        }
+        
+        long generation = manager.getMaskGeneration();
+        if (generation != scannedGeneration) {
+            scannedGeneration = generation;
+            findReadySections(manager);
+        }
+        
+        int replayed = 0;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        while (replayed < budget && !readySections.isEmpty()) {
+            int last = readySections.size() - 1;
+            long sectionKey = readySections.getLong(last);
+            LongOpenHashSet positions = pendingBySection.get(sectionKey);
+            if (positions != null) {
+                // The section is active, so updates cascading from here are never deferred back into this set.
+                LongIterator it = positions.iterator();
+                while (replayed < budget && it.hasNext()) {
+                    pos.set(it.nextLong());
+                    it.remove();
+                    pendingPositions--;
+                    replayed++;
+                    level.updateNeighborsAt(pos.immutable(), level.getBlockState(pos).getBlock());
+                }
+                if (!positions.isEmpty()) {
+                    break;
+                }
+                pendingBySection.remove(sectionKey);
+            }
+            readySections.removeLong(last);
+        }
+        return replayed;
+    }
+
+    private void findReadySections(VerticalSectionManager manager) {
+        readySections.clear();
+        int minSectionY = SectionPos.blockToSectionCoord(manager.getConfig().worldHeightConfig().minY());
+        for (LongIterator it = pendingBySection.keySet().iterator(); it.hasNext(); ) {
+            long sectionKey = it.nextLong();
+            int sectionIndex = SectionPos.y(sectionKey) - minSectionY;
+            if (manager.isSectionActive(SectionPos.x(sectionKey), SectionPos.z(sectionKey), sectionIndex)) {
+                readySections.add(sectionKey);
+            }
+        }
+    }
+
+    /**
+     * Forget the column's pending notifications; its chunk is no longer loaded.
+     */
+    void dropColumn(int chunkX, int chunkZ, int minSectionY, int maxSectionY) {
+        for (int sectionY = minSectionY; sectionY < maxSectionY; sectionY++) {
+            LongOpenHashSet positions = pendingBySection.remove(SectionPos.asLong(chunkX, sectionY, chunkZ));
+            if (positions != null) {
+                pendingPositions -= positions.size();
+            }
+        }
+    }
+
+    int size() {
+        return pendingPositions;
+    }
+}
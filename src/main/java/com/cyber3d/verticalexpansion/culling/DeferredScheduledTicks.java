@@ -0,0 +1,181 @@
+package com.cyber3d.verticalexpansion.culling;
+
+import com.cyber3d.verticalexpansion.vertical.SectionTier;
+import com.cyber3d.verticalexpansion.vertical.VerticalSectionManager;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.ticks.LevelTicks;
+import net.minecraft.world.ticks.ScheduledTick;
+import net.minecraft.world.ticks.TickPriority;
+
+/**
+ * Scheduled block or fluid ticks that came due in FROZEN sections of one level, waiting to be
+ * handed back to LevelTicks.
+ *
+ * Design notes:
+ * - Same layout as DeferredNeighborUpdates: one entry per section (SectionPos#asLong), only
+ *   re-checked for readiness when the manager's mask generation changes.
+ * - Each tick keeps its type and TickPriority. A section's ticks are replayed in the order they
+ *   were deferred, which is the order vanilla would have run them, so redstone ordering survives
+ *   a thaw.
+ * - A second tick for a position already held is dropped, as LevelTicks itself does for a
+ *   position and type that are already scheduled.
+ * - While held, ticks are not in the chunk's tick container and would not be saved, so
+ *   restoreColumn and restoreAll return them to LevelTicks before a chunk unloads or the level
+ *   saves.
+ * - Server-thread only.
+ */
+final class DeferredScheduledTicks<T> {
+
+    private final Long2ObjectOpenHashMap<SectionTicks<T>> pendingBySection = new Long2ObjectOpenHashMap<>();
+    private final LongArrayList readySections = new LongArrayList();
+    private long scannedGeneration = -1;
+    private int pendingTicks;
+
+    /**
+     * Hold a tick until its section thaws. Returns false, holding nothing, once maxPending
+     * ticks are held.
+     */
+    boolean defer(BlockPos pos, T type, TickPriority priority, int maxPending) {
+        long sectionKey = SectionPos.asLong(pos);
+        SectionTicks<T> section = pendingBySection.get(sectionKey);
+        if (section != null && section.positionSet.contains(pos.asLong())) {
+            return true;
+        }
+        if (pendingTicks >= maxPending) {
+            return false;
+        }
+        if (section == null) {
+            section = new SectionTicks<>();
+            pendingBySection.put(sectionKey, section);
+        }
+        section.add(pos.asLong(), type, priority);
+        pendingTicks++;
+        return true;
+    }
+
+    /**
+     * Reschedule up to budget ticks from sections that are no longer frozen, due next tick.
+     * Returns the number rescheduled.
+     */
+    int replay(ServerLevel level, LevelTicks<T> ticks, VerticalSectionManager manager, int budget) {
+        if (pendingBySection.isEmpty()) {
+            return 0;
+        }
+
+        long generation = manager.getMaskGeneration();
+        if (generation != scannedGeneration) {
+            scannedGeneration = generation;
+            findReadySections(manager);
+        }
+
+        int replayed = 0;
+        while (replayed < budget && !readySections.isEmpty()) {
+            int last = readySections.size() - 1;
+            long sectionKey = readySections.getLong(last);
+            SectionTicks<T> section = pendingBySection.get(sectionKey);
+            if (section != null) {
+                replayed += section.schedule(level, ticks, budget - replayed);
+                if (!section.isDrained()) {
+                    break;
+                }
+                pendingBySection.remove(sectionKey);
+            }
+            readySections.removeLong(last);
+        }
+        pendingTicks -= replayed;
+        return replayed;
+    }
+
+    /**
+     * Return the column's held ticks to LevelTicks so they are saved with the chunk, which is
+     * about to unload. Returns the number returned.
+     */
+    int restoreColumn(ServerLevel level, LevelTicks<T> ticks, int chunkX, int chunkZ, int minSectionY, int maxSectionY) {
+        int restored = 0;
+        for (int sectionY = minSectionY; sectionY < maxSectionY; sectionY++) {
+            SectionTicks<T> section = pendingBySection.remove(SectionPos.asLong(chunkX, sectionY, chunkZ));
+            if (section != null) {
+                restored += section.schedule(level, ticks, Integer.MAX_VALUE);
+            }
+        }
+        pendingTicks -= restored;
+        return restored;
+    }
+
+    /**
+     * Return every held tick to LevelTicks, before the level saves. Ticks still frozen when
+     * they come due are deferred again. Returns the number returned.
+     */
+    int restoreAll(ServerLevel level, LevelTicks<T> ticks) {
+        int restored = 0;
+        for (SectionTicks<T> section : pendingBySection.values()) {
+            restored += section.schedule(level, ticks, Integer.MAX_VALUE);
+        }
+        pendingBySection.clear();
+        readySections.clear();
+        pendingTicks = 0;
+        return restored;
+    }
+
+    private void findReadySections(VerticalSectionManager manager) {
+        readySections.clear();
+        int minSectionY = SectionPos.blockToSectionCoord(manager.getConfig().worldHeightConfig().minY());
+        for (LongIterator it = pendingBySection.keySet().iterator(); it.hasNext(); ) {
+            long sectionKey = it.nextLong();
+            int sectionIndex = SectionPos.y(sectionKey) - minSectionY;
+            if (manager.getSectionTier(SectionPos.x(sectionKey), SectionPos.z(sectionKey), sectionIndex) != SectionTier.FROZEN) {
+                readySections.add(sectionKey);
+            }
+        }
+    }
+
+    int size() {
+        return pendingTicks;
+    }
+
+    /**
+     * Held ticks of one section, in deferral order. Ticks before next have been replayed;
+     * positionSet only holds the positions of the ones still waiting, so a section that
+     * refreezes part way through a replay takes new ticks at already replayed positions.
+     */
+    private static final class SectionTicks<T> {
+        final LongArrayList positions = new LongArrayList();
+        final ObjectArrayList<T> types = new ObjectArrayList<>();
+        final ByteArrayList priorities = new ByteArrayList();
+        final LongOpenHashSet positionSet = new LongOpenHashSet();
+        int next;
+
+        void add(long pos, T type, TickPriority priority) {
+            positions.add(pos);
+            types.add(type);
+            priorities.add((byte) priority.getValue());
+            positionSet.add(pos);
+        }
+
+        /** Schedule up to budget of the remaining ticks for the next game tick. */
+        int schedule(ServerLevel level, LevelTicks<T> ticks, int budget) {
+            int scheduled = 0;
+            long triggerTick = level.getGameTime() + 1;
+            while (scheduled < budget && next < positions.size()) {
+                ticks.schedule(new ScheduledTick<>(types.get(next), BlockPos.of(positions.getLong(next)), triggerTick,
+                    TickPriority.byValue(priorities.getByte(next)), level.nextSubTickCount()));
+                positionSet.remove(positions.getLong(next));
+                next++;
+                scheduled++;
+            }
+            return scheduled;
+        }
+
+        boolean isDrained() {
+            return next == positions.size();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.cyber3d.verticalexpansion.culling;
+
+import net.minecraft.world.entity.AgeableMob;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.MoverType;
+
+/**
+ * Coarse catch-up for an entity whose ticks were skipped in a halo or frozen section.
+ *
+ * Instead of replaying every skipped tick, state that Entity#tick itself advances is caught up
+ * at once: an AgeableMob's age moves by the whole gap, and the entity is moved along its
+ * current motion in a single collision-checked step. Movement is capped so an entity thawing
+ * after a long freeze resumes where it stopped rather than jumping ahead.
+ *
+ * tickCount is left alone: ServerLevel#tickNonPassenger increments it before firing
+ * EntityTickEvent.Pre, so cancelled ticks have already been counted.
+ */
+final class EntityCatchUp {
+
+    private EntityCatchUp() {
+    }
+
+    /**
+     * @param skippedTicks ticks the entity missed since it last ticked
+     * @param maxMoveTicks cap on the ticks of motion applied in one step
+     */
+    static void apply(Entity entity, int skippedTicks, int maxMoveTicks) {
+        if (entity instanceof AgeableMob mob) {
+            // Negative age counts up to adulthood, positive age counts down the breeding cooldown.
+            int age = mob.getAge();
+            if (age < 0) {
+                mob.setAge(Math.min(0, age + skippedTicks));
+            } else if (age > 0) {
+                mob.setAge(Math.max(0, age - skippedTicks));
+            }
+        }
+        
+        int moveTicks = Math.min(skippedTicks, maxMoveTicks);
+        if (moveTicks > 0 && !entity.isPassenger()) {
+            entity.move(MoverType.SELF, entity.getDeltaMovement().scale(moveTicks));
+        }
+    }
+}
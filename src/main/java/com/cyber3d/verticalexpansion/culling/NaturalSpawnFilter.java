@@ -0,0 +1,158 @@
+package com.cyber3d.verticalexpansion.culling;
+
+import com.cyber3d.verticalexpansion.terrain.WorldTerrainProfile;
+import com.cyber3d.verticalexpansion.vertical.ServerVerticalConfig;
+import com.cyber3d.verticalexpansion.vertical.VerticalIntegration;
+import com.cyber3d.verticalexpansion.vertical.VerticalSectionManager;
+import com.cyber3d.verticalexpansion.worldgen.WorldGenInitializer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.NaturalSpawner;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps natural spawning where players are. Called from NaturalSpawnerMixin.
+ *
+ * - restrictSpawnsToActiveSections: a spawn attempt whose randomly picked position lies in an
+ *   inactive section is dropped before any spawn rules are evaluated.
+ * - bandedMobCaps: mobs are counted per vertical band of the level's WorldTerrainProfile
+ *   (below sea level, lowlands, highlands, extreme, sky), and each band is held to the vanilla
+ *   category cap on its own, so cave mobs far below the player no longer use up the surface's
+ *   cap. The level-wide half of SpawnState#canSpawnForCategory is skipped in that case. Band counts are taken once per
+ *   tick, so mobs spawned earlier in the same tick are not yet counted. The per-player local
+ *   cap is left to vanilla.
+ */
+public final class NaturalSpawnFilter {
+
+    static final int BAND_COUNT = 5;
+
+    /** Chunks per vanilla cap unit (17 * 17), NaturalSpawner.MAGIC_NUMBER. */
+    private static final int VANILLA_CAP_CHUNKS = 17 * 17;
+
+    private static final Map<ResourceKey<Level>, BandCounts> bandCounts = new HashMap<>();
+    private static long suppressedSpawnAttempts = 0;
+    private static long bandCappedSpawnAttempts = 0;
+
+    private NaturalSpawnFilter() {
+    }
+
+    public static boolean allowSpawnAttempt(ServerLevel level, MobCategory category, BlockPos pos) {
+        VerticalSectionManager manager = VerticalIntegration.getManager(level.dimension());
+        if (manager == null) {
+            return true;
+        }
+        
+        ServerVerticalConfig config = manager.getConfig();
+        if (config.restrictSpawnsToActiveSections()) {
+            int sectionIndex = (pos.getY() - config.worldHeightConfig().minY()) >> 4;
+            if (!manager.isSectionActive(pos.getX() >> 4, pos.getZ() >> 4, sectionIndex)) {
+                suppressedSpawnAttempts++;
+                return false;
+            }
+        }
+        
+        if (config.bandedMobCaps()) {
+            WorldTerrainProfile profile = profileFor(level);
+            NaturalSpawner.SpawnState state = level.getChunkSource().getLastSpawnState();
+            if (profile != null && state != null) {
+                int cap = category.getMaxInstancesPerChunk() * state.getSpawnableChunkCount() / VANILLA_CAP_CHUNKS;
+                if (countsFor(level, profile).get(bandOf(profile, pos.getY()), category) >= cap) {
+                    bandCappedSpawnAttempts++;
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * True if the level's category caps are enforced per band by allowSpawnAttempt.
+     */
+    public static boolean usesBandedCaps(ServerLevel level) {
+        VerticalSectionManager manager = VerticalIntegration.getManager(level.dimension());
+        return manager != null && manager.getConfig().bandedMobCaps() && profileFor(level) != null;
+    }
+
+    /**
+     * Same bands as VerticalExpansionBiomeSource#getBand, applied to a Y position.
+     */
+    static int bandOf(WorldTerrainProfile profile, int y) {
+        if (y >= profile.skyBandStartY()) {
+            return 4;
+        } else if (y >= profile.extremeStartY()) {
+            return 3;
+        } else if (y >= profile.highlandsStartY()) {
+            return 2;
+        } else if (y >= profile.seaLevel()) {
+            return 1;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Only the overworld is shaped by the terrain profile; other levels keep vanilla caps.
+     */
+    private static WorldTerrainProfile profileFor(ServerLevel level) {
+        if (!level.dimension().equals(Level.OVERWORLD)) {
+            return null;
+        }
+        return WorldGenInitializer.getDensityFunctionIntegration().getTerrainProfile();
+    }
+
+    private static BandCounts countsFor(ServerLevel level, WorldTerrainProfile profile) {
+        BandCounts counts = bandCounts.computeIfAbsent(level.dimension(), k -> new BandCounts());
+        long gameTime = level.getGameTime();
+        if (counts.gameTime != gameTime) {
+            counts.gameTime = gameTime;
+            counts.recount(level, profile);
+        }
+        return counts;
+    }
+
+    public static long getSuppressedSpawnAttempts() {
+        return suppressedSpawnAttempts;
+    }
+
+    public static long getBandCappedSpawnAttempts() {
+        return bandCappedSpawnAttempts;
+    }
+
+    public static void resetCounts() {
+        suppressedSpawnAttempts = 0;
+        bandCappedSpawnAttempts = 0;
+    }
+
+    private static final class BandCounts {
+        private final int[] counts = new int[BAND_COUNT * MobCategory.values().length];
+        private long gameTime = Long.MIN_VALUE;
+
+        int get(int band, MobCategory category) {
+            return counts[band * MobCategory.values().length + category.ordinal()];
+        }
+
+        /** Counts mobs the way NaturalSpawner.createState does: persistent mobs and MISC are ignored. */
+        void recount(ServerLevel level, WorldTerrainProfile profile) {
+            Arrays.fill(counts, 0);
+            int categories = MobCategory.values().length;
+            for (Entity entity : level.getAllEntities()) {
+                if (entity instanceof Mob mob && (mob.isPersistenceRequired() || mob.requiresCustomPersistence())) {
+                    continue;
+                }
+                MobCategory category = entity.getType().getCategory();
+                if (category == MobCategory.MISC) {
+                    continue;
+                }
+                counts[bandOf(profile, entity.getBlockY()) * categories + category.ordinal()]++;
+            }
+        }
+    }
+}
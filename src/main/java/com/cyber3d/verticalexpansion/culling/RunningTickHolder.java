@@ -0,0 +1,11 @@
+package com.cyber3d.verticalexpansion.culling;
+
+import net.minecraft.world.ticks.ScheduledTick;
+
+/**
+ * Implemented on LevelTicks (LevelTicksMixin): the scheduled tick currently being run, so the
+ * tickBlock/tickFluid hooks can see its priority, which vanilla does not pass along.
+ */
+public interface RunningTickHolder {
+    ScheduledTick<?> verticalexpansion$runningTick();
+}
@@ -0,0 +1,47 @@
+package com.cyber3d.verticalexpansion.culling;
+
+import com.cyber3d.verticalexpansion.vertical.SectionTier;
+
+/**
+ * Culling state of one entity or block-entity ticker, carried on the object itself through
+ * CullStateHolder.
+ *
+ * The tier is reused while the owner stays in the same section and its column's mask
+ * generation is unchanged. Masks changing in other columns do not invalidate it, so an owner
+ * that is not moving between sections costs one generation probe per tick instead of a tier
+ * computation, however busy the rest of the level is. It is still re-read every
+ * REVALIDATE_TICKS, which marks the column as in use for the mask cache's LRU.
+ */
+public final class SectionCullState {
+
+    static final int REVALIDATE_TICKS = 20;
+
+    int chunkX;
+    int chunkZ;
+    int sectionIndex;
+    long generation;
+    long revalidateAt;
+    SectionTier tier;
+    int skippedTicks;
+
+    public SectionCullState() {
+    }
+
+    boolean isValid(int chunkX, int chunkZ, int sectionIndex, long generation, long gameTime) {
+        return tier != null
+            && this.chunkX == chunkX
+            && this.chunkZ == chunkZ
+            && this.sectionIndex == sectionIndex
+            && this.generation == generation
+            && gameTime < revalidateAt;
+    }
+
+    void store(int chunkX, int chunkZ, int sectionIndex, long generation, long gameTime, SectionTier tier) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.sectionIndex = sectionIndex;
+        this.generation = generation;
+        this.revalidateAt = gameTime + REVALIDATE_TICKS;
+        this.tier = tier;
+    }
+}
@@ -0,0 +1,258 @@
+package com.cyber3d.verticalexpansion.culling;
+
+import com.cyber3d.verticalexpansion.vertical.SectionTier;
+import com.cyber3d.verticalexpansion.vertical.VerticalIntegration;
+import com.cyber3d.verticalexpansion.vertical.VerticalSectionManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.ticks.LevelTicks;
+import net.minecraft.world.ticks.ScheduledTick;
+import net.minecraft.world.ticks.TickPriority;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies the section tiers to block ticking. Called from ServerLevelTickMixin and
+ * LevelBlockEntityTickMixin.
+ *
+ * Catch-up policy per kind of tick:
+ * - Random ticks: HALO sections random-tick once every haloTickInterval ticks, FROZEN sections
+ *   not at all. Missed random ticks are not replayed; growth simply pauses, as it does outside
+ *   vanilla's simulation distance.
+ * - Scheduled block and fluid ticks: due ticks in FROZEN sections are held per section in
+ *   DeferredScheduledTicks, with their TickPriority, and handed back to LevelTicks once the
+ *   section thaws, within neighborReplayBudget per tick. Held ticks share the
+ *   maxDeferredNeighborUpdates cap with neighbor updates; past it a tick is rescheduled
+ *   SCHEDULED_TICK_RETRY_DELAY ticks later instead. HALO sections run them normally.
+ * - Block-entity tickers: HALO runs once every haloTickInterval ticks, FROZEN not at all. On
+ *   the first tick back in an ACTIVE section the ticker runs up to haloTickInterval extra times
+ *   to make up part of the gap.
+ */
+public final class SectionTickSuppression {
+
+    static final int SCHEDULED_TICK_RETRY_DELAY = 20;
+
+    private static long suppressedRandomTicks = 0;
+    private static long deferredScheduledTicks = 0;
+    private static long replayedScheduledTicks = 0;
+    private static long skippedBlockEntityTicks = 0;
+    private static final Map<ResourceKey<Level>, DeferredScheduledTicks<Block>> deferredBlockTicks = new HashMap<>();
+    private static final Map<ResourceKey<Level>, DeferredScheduledTicks<Fluid>> deferredFluidTicks = new HashMap<>();
+
+    private SectionTickSuppression() {
+    }
+
+    public static boolean shouldRandomTick(ServerLevel level, int chunkX, int chunkZ, int sectionIndex) {
+        VerticalSectionManager manager = VerticalIntegration.getManager(level.dimension());
+        if (manager == null) {
+            return true;
+        }
+        
+        SectionTier tier = manager.getSectionTier(chunkX, chunkZ, sectionIndex);
+        if (tier == SectionTier.ACTIVE
+                || (tier == SectionTier.HALO && (level.getGameTime() + sectionIndex) % manager.getConfig().haloTickInterval() == 0)) {
+            return true;
+        }
+        suppressedRandomTicks++;
+        return false;
+    }
+
+    /**
+     * Returns false if the scheduled tick must not run now; it has then been deferred.
+     */
+    public static boolean shouldRunBlockTick(ServerLevel level, BlockPos pos, Block block) {
+        VerticalSectionManager manager = frozenManager(level, pos);
+        if (manager == null) {
+            return true;
+        }
+        // Vanilla drops ticks whose block has changed; only keep the ones it would have run.
+        if (level.getBlockState(pos).is(block)) {
+            defer(level, level.getBlockTicks(), deferredBlockTicks, manager, pos, block);
+        }
+        deferredScheduledTicks++;
+        return false;
+    }
+
+    /**
+     * Returns false if the scheduled tick must not run now; it has then been deferred.
+     */
+    public static boolean shouldRunFluidTick(ServerLevel level, BlockPos pos, Fluid fluid) {
+        VerticalSectionManager manager = frozenManager(level, pos);
+        if (manager == null) {
+            return true;
+        }
+        if (level.getFluidState(pos).is(fluid)) {
+            defer(level, level.getFluidTicks(), deferredFluidTicks, manager, pos, fluid);
+        }
+        deferredScheduledTicks++;
+        return false;
+    }
+
+    private static <T> void defer(ServerLevel level, LevelTicks<T> ticks, Map<ResourceKey<Level>, DeferredScheduledTicks<T>> deferred,
+            VerticalSectionManager manager, BlockPos pos, T type) {
+        TickPriority priority = runningPriority(ticks, pos, type);
+        DeferredScheduledTicks<T> pending = deferred.computeIfAbsent(level.dimension(), k -> new DeferredScheduledTicks<>());
+        if (!pending.defer(pos, type, priority, manager.getConfig().maxDeferredNeighborUpdates())) {
+            ticks.schedule(new ScheduledTick<>(type, pos.immutable(), level.getGameTime() + SCHEDULED_TICK_RETRY_DELAY,
+                priority, level.nextSubTickCount()));
+        }
+    }
+
+    /**
+     * Priority of the tick LevelTicks is running, if it is the one for pos and type; ticks run
+     * any other way (there are none in vanilla) fall back to NORMAL.
+     */
+    private static <T> TickPriority runningPriority(LevelTicks<T> ticks, BlockPos pos, T type) {
+        ScheduledTick<?> running = ((RunningTickHolder) ticks).verticalexpansion$runningTick();
+        if (running != null && running.type() == type && running.pos().equals(pos)) {
+            return running.priority();
+        }
+        return TickPriority.NORMAL;
+    }
+
+    /**
+     * Hand held ticks of thawed sections back to LevelTicks. Called once per level tick.
+     */
+    public static void replayDeferredTicks(ServerLevel level) {
+        VerticalSectionManager manager = VerticalIntegration.getManager(level.dimension());
+        if (manager == null) {
+            return;
+        }
+        int budget = manager.getConfig().neighborReplayBudget();
+        DeferredScheduledTicks<Block> blocks = deferredBlockTicks.get(level.dimension());
+        if (blocks != null) {
+            int replayed = blocks.replay(level, level.getBlockTicks(), manager, budget);
+            replayedScheduledTicks += replayed;
+            budget -= replayed;
+        }
+        DeferredScheduledTicks<Fluid> fluids = deferredFluidTicks.get(level.dimension());
+        if (fluids != null && budget > 0) {
+            replayedScheduledTicks += fluids.replay(level, level.getFluidTicks(), manager, budget);
+        }
+    }
+
+    /**
+     * Return the held ticks of an unloading column to LevelTicks, so they are saved with it.
+     */
+    public static void restoreDeferredTicks(ServerLevel level, int chunkX, int chunkZ) {
+        DeferredScheduledTicks<Block> blocks = deferredBlockTicks.get(level.dimension());
+        if (blocks != null) {
+            blocks.restoreColumn(level, level.getBlockTicks(), chunkX, chunkZ, level.getMinSection(), level.getMaxSection());
+        }
+        DeferredScheduledTicks<Fluid> fluids = deferredFluidTicks.get(level.dimension());
+        if (fluids != null) {
+            fluids.restoreColumn(level, level.getFluidTicks(), chunkX, chunkZ, level.getMinSection(), level.getMaxSection());
+        }
+    }
+
+    /**
+     * Return every held tick of the level to LevelTicks, before it saves.
+     */
+    public static void restoreAllDeferredTicks(ServerLevel level) {
+        DeferredScheduledTicks<Block> blocks = deferredBlockTicks.get(level.dimension());
+        if (blocks != null) {
+            blocks.restoreAll(level, level.getBlockTicks());
+        }
+        DeferredScheduledTicks<Fluid> fluids = deferredFluidTicks.get(level.dimension());
+        if (fluids != null) {
+            fluids.restoreAll(level, level.getFluidTicks());
+        }
+    }
+
+    public static void dropDeferredTicks(ServerLevel level) {
+        deferredBlockTicks.remove(level.dimension());
+        deferredFluidTicks.remove(level.dimension());
+    }
+
+    /**
+     * The level's manager if pos is in a FROZEN section, otherwise null.
+     */
+    private static VerticalSectionManager frozenManager(ServerLevel level, BlockPos pos) {
+        VerticalSectionManager manager = VerticalIntegration.getManager(level.dimension());
+        if (manager == null) {
+            return null;
+        }
+        int sectionIndex = (pos.getY() - manager.getConfig().worldHeightConfig().minY()) >> 4;
+        return manager.getSectionTier(pos.getX() >> 4, pos.getZ() >> 4, sectionIndex) == SectionTier.FROZEN ? manager : null;
+    }
+
+    /**
+     * Run, skip or catch up one block-entity ticker, in place of TickingBlockEntity#tick.
+     */
+    public static void tickBlockEntity(Level level, TickingBlockEntity ticker) {
+        VerticalSectionManager manager = level instanceof ServerLevel && ticker instanceof CullStateHolder
+            ? VerticalIntegration.getManager(level.dimension())
+            : null;
+        if (manager == null) {
+            ticker.tick();
+            return;
+        }
+        
+        SectionCullState state = ((CullStateHolder) ticker).verticalexpansion$cullState();
+        BlockPos pos = ticker.getPos();
+        int chunkX = pos.getX() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+        int sectionIndex = (pos.getY() - manager.getConfig().worldHeightConfig().minY()) >> 4;
+        long gameTime = level.getGameTime();
+        long generation = manager.getColumnGeneration(chunkX, chunkZ);
+        
+        if (!state.isValid(chunkX, chunkZ, sectionIndex, generation, gameTime)) {
+            state.store(chunkX, chunkZ, sectionIndex, generation, gameTime,
+                manager.getSectionTier(chunkX, chunkZ, sectionIndex));
+        }
+        
+        int haloInterval = manager.getConfig().haloTickInterval();
+        switch (state.tier) {
+            case ACTIVE -> {
+                ticker.tick();
+                int catchUp = Math.min(state.skippedTicks, haloInterval);
+                for (int i = 0; i < catchUp; i++) {
+                    ticker.tick();
+                }
+                state.skippedTicks = 0;
+            }
+            case HALO -> {
+                if (Math.floorMod(gameTime + pos.getX() + pos.getZ(), haloInterval) == 0) {
+                    ticker.tick();
+                    state.skippedTicks = 0;
+                } else {
+                    state.skippedTicks++;
+                    skippedBlockEntityTicks++;
+                }
+            }
+            case FROZEN -> {
+                state.skippedTicks++;
+                skippedBlockEntityTicks++;
+            }
+        }
+    }
+
+    public static long getSuppressedRandomTicks() {
+        return suppressedRandomTicks;
+    }
+
+    public static long getDeferredScheduledTicks() {
+        return deferredScheduledTicks;
+    }
+
+    public static long getReplayedScheduledTicks() {
+        return replayedScheduledTicks;
+    }
+
+    public static long getSkippedBlockEntityTicks() {
+        return skippedBlockEntityTicks;
+    }
+
+    public static void resetCounts() {
+        suppressedRandomTicks = 0;
+        deferredScheduledTicks = 0;
+        replayedScheduledTicks = 0;
+        skippedBlockEntityTicks = 0;
+    }
+}
@@ -1,11 +1,10 @@
 package com.cyber3d.verticalexpansion.debug;
 
-import com.cyber3d.verticalexpansion.core.VerticalExpansionConfig;
+import com.cyber3d.verticalexpansion.terrain.TerrainHeightFunction;
 import com.cyber3d.verticalexpansion.terrain.WorldTerrainProfile;
-import com.cyber3d.verticalexpansion.terrain.DefaultWorldTerrainProfile;
-import com.cyber3d.verticalexpansion.terrain.NoiseBasedTerrainHeightFunction;
-import com.cyber3d.verticalexpansion.terrain.PerlinNoiseSampler;
 import com.cyber3d.verticalexpansion.worldgen.DensityFunctionIntegration;
+import com.cyber3d.verticalexpansion.worldgen.VerticalExpansionWorldgenEvents;
+import com.cyber3d.verticalexpansion.worldgen.WorldGenInitializer;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import net.minecraft.commands.CommandSourceStack;
@@ -39,19 +38,11 @@ public final class HeightDebugCommand {
     }
 
     private static int execute(CommandSourceStack src, int x, int z) {
-        // Rebuild the terrain profile in the same way WorldGenInitializer does.
-        var cfg = VerticalExpansionConfig.getWorldHeightConfig();
-        WorldTerrainProfile profile = DefaultWorldTerrainProfile.standard(cfg);
-
-        NoiseBasedTerrainHeightFunction heightFunction = new NoiseBasedTerrainHeightFunction(
-            new PerlinNoiseSampler(null, profile.continentsScale()),
-            new PerlinNoiseSampler(null, profile.erosionScale()),
-            new PerlinNoiseSampler(null, profile.ridgeScale()),
-            new PerlinNoiseSampler(null, profile.valleyScale()),
-            new PerlinNoiseSampler(null, profile.detailScale()),
-            new PerlinNoiseSampler(null, profile.ravineFrequency()),
-            new PerlinNoiseSampler(null, 0.0015)
-        );
+        // Use the live worldgen height function so the answer matches generated terrain,
+        // served from the height atlas where the chunk already exists.
+        DensityFunctionIntegration integration = WorldGenInitializer.getDensityFunctionIntegration();
+        WorldTerrainProfile profile = integration.getTerrainProfile();
+        TerrainHeightFunction heightFunction = VerticalExpansionWorldgenEvents.heightFunctionFor(src.getLevel().dimension());
 
         double height = heightFunction.computeHeight(x, z, profile);
         src.sendSuccess(
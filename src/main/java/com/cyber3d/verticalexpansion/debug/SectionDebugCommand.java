@@ -26,7 +26,7 @@ public final class SectionDebugCommand {
     }
 
     private static int execute(CommandSourceStack src, ServerPlayer player) {
-        VerticalSectionManager manager = VerticalIntegration.getManager();
+        VerticalSectionManager manager = VerticalIntegration.getManager(player.level().dimension());
         if (manager == null) {
             src.sendFailure(Component.literal("[VerticalExpansion] VerticalSectionManager is not initialized."));
             return 0;
@@ -45,6 +45,26 @@ public final class SectionDebugCommand {
             ),
             false
         );
+        src.sendSuccess(
+            () -> Component.literal(
+                String.format("[VerticalExpansion] Mask cache: %d columns, hit rate %.1f%%, "
+                        + "%d evicted, %d expired, %d unloaded",
+                    manager.getCachedSectionsCount(),
+                    manager.getCacheHitRate() * 100.0,
+                    manager.getCacheEvictions(),
+                    manager.getCacheExpirations(),
+                    manager.getCacheUnloads())
+            ),
+            false
+        );
+        src.sendSuccess(
+            () -> Component.literal(
+                String.format("[VerticalExpansion] Column updates: %d pending, %d last tick",
+                    manager.getPendingColumnCount(),
+                    manager.getColumnsUpdatedLastTick())
+            ),
+            false
+        );
 
         return 1;
     }
@@ -0,0 +1,23 @@
+package com.cyber3d.verticalexpansion.mixin;
+
+import com.cyber3d.verticalexpansion.culling.CullStateHolder;
+import com.cyber3d.verticalexpansion.culling.SectionCullState;
+import net.minecraft.world.entity.Entity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(Entity.class)
+public abstract class EntityMixin implements CullStateHolder {
+
+    // Created on first use, so client-side entities and entities never checked pay nothing.
+    @Unique
+    private SectionCullState verticalexpansion$state;
+
+    @Override
+    public SectionCullState verticalexpansion$cullState() {
+        if (verticalexpansion$state == null) {
+            verticalexpansion$state = new SectionCullState();
+        }
+        return verticalexpansion$state;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cyber3d.verticalexpansion.mixin;
+
+import com.cyber3d.verticalexpansion.culling.SectionTickSuppression;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+/**
+ * Routes block-entity ticking through SectionTickSuppression so tickers follow the section
+ * masks. Client levels pass straight through.
+ */
+@Mixin(Level.class)
+public abstract class LevelBlockEntityTickMixin {
+
+    @Redirect(
+        method = "tickBlockEntities",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/block/entity/TickingBlockEntity;tick()V")
+    )
+    private void verticalexpansion$tickBlockEntity(TickingBlockEntity ticker) {
+        SectionTickSuppression.tickBlockEntity((Level) (Object) this, ticker);
+    }
+}
@@ -0,0 +1,37 @@
+package com.cyber3d.verticalexpansion.mixin;
+
+import com.cyber3d.verticalexpansion.culling.RunningTickHolder;
+import net.minecraft.world.ticks.LevelTicks;
+import net.minecraft.world.ticks.ScheduledTick;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import java.util.Queue;
+
+/**
+ * Remembers which scheduled tick LevelTicks is about to run, so SectionTickSuppression can
+ * defer it with its original TickPriority.
+ */
+@Mixin(LevelTicks.class)
+public abstract class LevelTicksMixin<T> implements RunningTickHolder {
+
+    @Unique
+    private ScheduledTick<T> verticalexpansion$runningTick;
+
+    @Redirect(
+        method = "runCollectedTicks",
+        at = @At(value = "INVOKE", target = "Ljava/util/Queue;poll()Ljava/lang/Object;")
+    )
+    private Object verticalexpansion$recordRunningTick(Queue<ScheduledTick<T>> queue) {
+        ScheduledTick<T> tick = queue.poll();
+        verticalexpansion$runningTick = tick;
+        return tick;
+    }
+
+    @Override
+    public ScheduledTick<?> verticalexpansion$runningTick() {
+        return verticalexpansion$runningTick;
+    }
+}
@@ -0,0 +1,69 @@
+package com.cyber3d.verticalexpansion.mixin;
+
+import com.cyber3d.verticalexpansion.culling.NaturalSpawnFilter;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.NaturalSpawner;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+/**
+ * Drops natural spawn attempts in inactive sections or full vertical bands before vanilla
+ * evaluates spawn rules for the pack, and with banded mob caps lifts the level-wide category
+ * cap so each band is held to its own cap instead. See NaturalSpawnFilter.
+ */
+@Mixin(NaturalSpawner.class)
+public abstract class NaturalSpawnerMixin {
+
+    @Redirect(
+        method = "spawnCategoryForChunk",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/level/NaturalSpawner;spawnCategoryForPosition(Lnet/minecraft/world/entity/MobCategory;Lnet/minecraft/server/level/ServerLevel;Lnet/minecraft/world/level/chunk/ChunkAccess;Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/NaturalSpawner$SpawnPredicate;Lnet/minecraft/world/level/NaturalSpawner$AfterSpawnCallback;)V"
+        )
+    )
+    private static void verticalexpansion$spawnInActiveSection(
+            MobCategory category,
+            ServerLevel level,
+            ChunkAccess chunk,
+            BlockPos pos,
+            NaturalSpawner.SpawnPredicate filter,
+            NaturalSpawner.AfterSpawnCallback callback
+    ) {
+        if (NaturalSpawnFilter.allowSpawnAttempt(level, category, pos)) {
+            NaturalSpawner.spawnCategoryForPosition(category, level, chunk, pos, filter, callback);
+        }
+    }
+
+    // SpawnState#canSpawnForCategory checks the level-wide category cap, then the per-player
+    // local cap. With banded caps only the local half is kept.
+    @Redirect(
+        method = "spawnForChunk",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/world/level/NaturalSpawner$SpawnState;canSpawnForCategory(Lnet/minecraft/world/entity/MobCategory;Lnet/minecraft/world/level/ChunkPos;)Z"
+        )
+    )
+    private static boolean verticalexpansion$canSpawnForCategory(
+            NaturalSpawner.SpawnState state,
+            MobCategory category,
+            ChunkPos chunkPos,
+            ServerLevel level,
+            LevelChunk chunk,
+            NaturalSpawner.SpawnState spawnState,
+            boolean spawnFriendlies,
+            boolean spawnEnemies,
+            boolean spawnPersistent
+    ) {
+        SpawnStateAccessor accessor = (SpawnStateAccessor) state;
+        if (NaturalSpawnFilter.usesBandedCaps(level)) {
+            return accessor.getLocalMobCapCalculator().canSpawn(category, chunkPos);
+        }
+        return accessor.invokeCanSpawnForCategory(category, chunkPos);
+    }
+}
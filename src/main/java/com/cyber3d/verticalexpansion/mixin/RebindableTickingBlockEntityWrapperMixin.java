@@ -0,0 +1,23 @@
+package com.cyber3d.verticalexpansion.mixin;
+
+import com.cyber3d.verticalexpansion.culling.CullStateHolder;
+import com.cyber3d.verticalexpansion.culling.SectionCullState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+// Every chunk block-entity ticker is wrapped in one of these, and the wrapper survives
+// rebinds, so the skipped-tick count is kept across them.
+@Mixin(targets = "net.minecraft.world.level.chunk.LevelChunk$RebindableTickingBlockEntityWrapper")
+public abstract class RebindableTickingBlockEntityWrapperMixin implements CullStateHolder {
+
+    @Unique
+    private SectionCullState verticalexpansion$state;
+
+    @Override
+    public SectionCullState verticalexpansion$cullState() {
+        if (verticalexpansion$state == null) {
+            verticalexpansion$state = new SectionCullState();
+        }
+        return verticalexpansion$state;
+    }
+}
@@ -0,0 +1,64 @@
+package com.cyber3d.verticalexpansion.mixin;
+
+import com.cyber3d.verticalexpansion.culling.SectionTickSuppression;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.material.Fluid;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Skips random ticks and scheduled block/fluid ticks in sections the VerticalSectionManager
+ * has switched off. See SectionTickSuppression for the catch-up rules.
+ */
+@Mixin(ServerLevel.class)
+public abstract class ServerLevelTickMixin {
+
+    @Unique
+    private int verticalexpansion$chunkX;
+    @Unique
+    private int verticalexpansion$chunkZ;
+    @Unique
+    private int verticalexpansion$sectionCursor;
+
+    @Inject(method = "tickChunk", at = @At("HEAD"))
+    private void verticalexpansion$beginChunk(LevelChunk chunk, int randomTickSpeed, CallbackInfo ci) {
+        verticalexpansion$chunkX = chunk.getPos().x;
+        verticalexpansion$chunkZ = chunk.getPos().z;
+        verticalexpansion$sectionCursor = 0;
+    }
+
+    // The random tick loop checks each section of the chunk exactly once, in index order, so
+    // counting calls gives the section index without capturing locals.
+    @Redirect(
+        method = "tickChunk",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/chunk/LevelChunkSection;isRandomlyTicking()Z")
+    )
+    private boolean verticalexpansion$isRandomlyTicking(LevelChunkSection section) {
+        int sectionIndex = verticalexpansion$sectionCursor++;
+        return section.isRandomlyTicking()
+            && SectionTickSuppression.shouldRandomTick((ServerLevel) (Object) this,
+                verticalexpansion$chunkX, verticalexpansion$chunkZ, sectionIndex);
+    }
+
+    @Inject(method = "tickBlock", at = @At("HEAD"), cancellable = true)
+    private void verticalexpansion$deferBlockTick(BlockPos pos, Block block, CallbackInfo ci) {
+        if (!SectionTickSuppression.shouldRunBlockTick((ServerLevel) (Object) this, pos, block)) {
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "tickFluid", at = @At("HEAD"), cancellable = true)
+    private void verticalexpansion$deferFluidTick(BlockPos pos, Fluid fluid, CallbackInfo ci) {
+        if (!SectionTickSuppression.shouldRunFluidTick((ServerLevel) (Object) this, pos, fluid)) {
+            ci.cancel();
+        }
+    }
+}
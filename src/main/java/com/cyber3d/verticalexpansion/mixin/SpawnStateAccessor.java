@@ -0,0 +1,18 @@
+package com.cyber3d.verticalexpansion.mixin;
+
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LocalMobCapCalculator;
+import net.minecraft.world.level.NaturalSpawner;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+@Mixin(NaturalSpawner.SpawnState.class)
+public interface SpawnStateAccessor {
+    @Accessor("localMobCapCalculator")
+    LocalMobCapCalculator getLocalMobCapCalculator();
+
+    @Invoker("canSpawnForCategory")
+    boolean invokeCanSpawnForCategory(MobCategory category, ChunkPos chunkPos);
+}
@@ -19,13 +19,13 @@ public final class VerticalRenderingEvents {
 
     @SubscribeEvent
     public static void onRenderLevelStage(RenderLevelStageEvent event) {
-        var manager = VerticalIntegration.getManager();
-        if (manager == null) {
+        var camera = event.getCamera();
+        if (camera == null || camera.getEntity() == null) {
             return;
         }
         
-        var camera = event.getCamera();
-        if (camera == null) {
+        var manager = VerticalIntegration.getManager(camera.getEntity().level().dimension());
+        if (manager == null) {
             return;
         }
         
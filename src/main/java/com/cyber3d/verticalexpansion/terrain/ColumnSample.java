@@ -0,0 +1,71 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+/**
+ * ColumnSample bundles everything the terrain stack derives for one (x, z) column.
+ *
+ * Filled by TerrainHeightFunction#computeColumn so that density, biome and feature callers
+ * can share a single evaluation instead of re-sampling each noise layer. Instances are
+ * mutable and meant to be reused as scratch.
+ */
+public final class ColumnSample {
+
+    int height;
+    double continentalness;
+    double erosion;
+    double ridge;
+    double valley;
+    double detail;
+    double extremeMask;
+    double riverMask;
+    double ravineMask;
+
+    /** Surface height, clamped to [minY, maxY]. */
+    public int height() {
+        return height;
+    }
+
+    public double continentalness() {
+        return continentalness;
+    }
+
+    public double erosion() {
+        return erosion;
+    }
+
+    public double ridge() {
+        return ridge;
+    }
+
+    public double valley() {
+        return valley;
+    }
+
+    public double detail() {
+        return detail;
+    }
+
+    /** [0, 1], strength of the mega mountain boost; 0 when mega mountains are disabled. */
+    public double extremeMask() {
+        return extremeMask;
+    }
+
+    /** [0, 1], 1 at a river centre line and 0 outside the river band. */
+    public double riverMask() {
+        return riverMask;
+    }
+
+    /** [0, 1], 1 at a ravine centre line and 0 outside the ravine band. */
+    public double ravineMask() {
+        return ravineMask;
+    }
+
+    void clearMasks() {
+        erosion = 0.0;
+        ridge = 0.0;
+        valley = 0.0;
+        detail = 0.0;
+        extremeMask = 0.0;
+        riverMask = 0.0;
+        ravineMask = 0.0;
+    }
+}
@@ -43,6 +43,9 @@ public final class DefaultWorldTerrainProfile implements WorldTerrainProfile {
     private final double erosionFlattenMultiplier;
     private final double erosionRidgeMultiplier;
 
+    private final HeightInterpolation heightInterpolation;
+    private final int interpolationCellSize;
+
     public DefaultWorldTerrainProfile(
             WorldHeightConfig heightConfig,
             double continentsScale,
@@ -75,6 +78,79 @@ public final class DefaultWorldTerrainProfile implements WorldTerrainProfile {
             double erosionFlattenMultiplier,
             double erosionRidgeMultiplier
     ) {
+        this(
+                heightConfig,
+                continentsScale,
+                erosionScale,
+                ridgeScale,
+                valleyScale,
+                detailScale,
+                baseHeightAmplitude,
+                mountainBoostAmplitude,
+                valleyDepth,
+                extremeMountainBoost,
+                highlandsStartY,
+                extremeStartY,
+                skyBandStartY,
+                enableSkyTerrain,
+                enableUndergroundRivers,
+                enableMegaMountains,
+                oceanThreshold,
+                deepOceanThreshold,
+                shallowOceanDepth,
+                deepOceanDepth,
+                riverWidth,
+                riverMaxDepth,
+                landRavineStrength,
+                oceanRavineStrength,
+                ravineFrequency,
+                ravineStretch,
+                erosionStrength,
+                erosionThreshold,
+                erosionFlattenMultiplier,
+                erosionRidgeMultiplier,
+                HeightInterpolation.EXACT,
+                4
+        );
+    }
+
+    public DefaultWorldTerrainProfile(
+            WorldHeightConfig heightConfig,
+            double continentsScale,
+            double erosionScale,
+            double ridgeScale,
+            double valleyScale,
+            double detailScale,
+            double baseHeightAmplitude,
+            double mountainBoostAmplitude,
+            double valleyDepth,
+            double extremeMountainBoost,
+            int highlandsStartY,
+            int extremeStartY,
+            int skyBandStartY,
+            boolean enableSkyTerrain,
+            boolean enableUndergroundRivers,
+            boolean enableMegaMountains,
+            double oceanThreshold,
+            double deepOceanThreshold,
+            int shallowOceanDepth,
+            int deepOceanDepth,
+            double riverWidth,
+            int riverMaxDepth,
+            double landRavineStrength,
+            double oceanRavineStrength,
+            double ravineFrequency,
+            double ravineStretch,
+            double erosionStrength,
+            double erosionThreshold,
+            double erosionFlattenMultiplier,
+            double erosionRidgeMultiplier,
+            HeightInterpolation heightInterpolation,
+            int interpolationCellSize
+    ) {
+        if (interpolationCellSize < 1) {
+            throw new IllegalArgumentException("interpolationCellSize must be at least 1");
+        }
         this.heightConfig = heightConfig;
         this.continentsScale = continentsScale;
         this.erosionScale = erosionScale;
@@ -105,6 +181,49 @@ public final class DefaultWorldTerrainProfile implements WorldTerrainProfile {
         this.erosionThreshold = erosionThreshold;
         this.erosionFlattenMultiplier = erosionFlattenMultiplier;
         this.erosionRidgeMultiplier = erosionRidgeMultiplier;
+        this.heightInterpolation = heightInterpolation;
+        this.interpolationCellSize = interpolationCellSize;
+    }
+
+    /**
+     * Copy of this profile that evaluates the terrain stack on a coarse lattice and
+     * interpolates heights between lattice points. See HeightInterpolation.
+     */
+    public DefaultWorldTerrainProfile withHeightInterpolation(HeightInterpolation mode, int cellSize) {
+        return new DefaultWorldTerrainProfile(
+                heightConfig,
+                continentsScale,
+                erosionScale,
+                ridgeScale,
+                valleyScale,
+                detailScale,
+                baseHeightAmplitude,
+                mountainBoostAmplitude,
+                valleyDepth,
+                extremeMountainBoost,
+                highlandsStartY,
+                extremeStartY,
+                skyBandStartY,
+                enableSkyTerrain,
+                enableUndergroundRivers,
+                enableMegaMountains,
+                oceanThreshold,
+                deepOceanThreshold,
+                shallowOceanDepth,
+                deepOceanDepth,
+                riverWidth,
+                riverMaxDepth,
+                landRavineStrength,
+                oceanRavineStrength,
+                ravineFrequency,
+                ravineStretch,
+                erosionStrength,
+                erosionThreshold,
+                erosionFlattenMultiplier,
+                erosionRidgeMultiplier,
+                mode,
+                cellSize
+        );
     }
 
     public static DefaultWorldTerrainProfile standard(WorldHeightConfig heightConfig) {
@@ -301,4 +420,14 @@ public final class DefaultWorldTerrainProfile implements WorldTerrainProfile {
     public double erosionRidgeMultiplier() {
         return erosionRidgeMultiplier;
     }
+
+    @Override
+    public HeightInterpolation heightInterpolation() {
+        return heightInterpolation;
+    }
+
+    @Override
+    public int interpolationCellSize() {
+        return interpolationCellSize;
+    }
 }
@@ -0,0 +1,16 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+/**
+ * How NoiseBasedTerrainHeightFunction derives surface height between lattice points.
+ *
+ * EXACT evaluates the full noise stack for every column. The other modes evaluate it on a
+ * coarse lattice (WorldTerrainProfile#interpolationCellSize) and interpolate, keeping only
+ * the detail layer and erosion shaping per block. Interpolation is used by the grid path
+ * (NoiseBasedTerrainHeightFunction#computeGrid) only; single-column lookups stay exact.
+ * TileCachedHeightFunction gives single columns the grid's answer.
+ */
+public enum HeightInterpolation {
+    EXACT,
+    BILINEAR,
+    BICUBIC
+}
@@ -0,0 +1,74 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+/**
+ * Error of an interpolated height mode against the exact path over a sampled area.
+ *
+ * Produced by NoiseBasedTerrainHeightFunction#measureInterpolationError.
+ */
+public final class HeightInterpolationReport {
+
+    private final HeightInterpolation mode;
+    private final int cellSize;
+    private final int columns;
+    private final int maxError;
+    private final double meanError;
+    private final double rmsError;
+    private final int exactColumns;
+
+    public HeightInterpolationReport(
+            HeightInterpolation mode,
+            int cellSize,
+            int columns,
+            int maxError,
+            double meanError,
+            double rmsError,
+            int exactColumns
+    ) {
+        this.mode = mode;
+        this.cellSize = cellSize;
+        this.columns = columns;
+        this.maxError = maxError;
+        this.meanError = meanError;
+        this.rmsError = rmsError;
+        this.exactColumns = exactColumns;
+    }
+
+    public HeightInterpolation mode() {
+        return mode;
+    }
+
+    public int cellSize() {
+        return cellSize;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /** Largest absolute height difference in blocks. */
+    public int maxError() {
+        return maxError;
+    }
+
+    public double meanError() {
+        return meanError;
+    }
+
+    public double rmsError() {
+        return rmsError;
+    }
+
+    /** Columns whose interpolated height matched the exact height. */
+    public int exactColumns() {
+        return exactColumns;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s/%d over %d columns: max=%d mean=%.3f rms=%.3f exact=%.1f%%",
+            mode, cellSize, columns, maxError, meanError, rmsError,
+            columns == 0 ? 100.0 : 100.0 * exactColumns / columns
+        );
+    }
+}
@@ -14,6 +14,17 @@ package com.cyber3d.verticalexpansion.terrain;
  */
 public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunction {
 
+    private static final ThreadLocal<GridScratch> GRID_SCRATCH = ThreadLocal.withInitial(GridScratch::new);
+
+    private static final int LAYER_CONTINENTS = 0;
+    private static final int LAYER_EROSION = 1;
+    private static final int LAYER_RIDGE = 2;
+    private static final int LAYER_VALLEY = 3;
+    private static final int LAYER_DETAIL = 4;
+    private static final int LAYER_RAVINE = 5;
+    private static final int LAYER_EROSION_SHAPING = 6;
+    private static final int LAYER_COUNT = 7;
+
     private final NoiseSampler continents;
     private final NoiseSampler erosion;
     private final NoiseSampler ridge;
@@ -21,6 +32,7 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
     private final NoiseSampler detail;
     private final NoiseSampler ravineNoise;
     private final NoiseSampler erosionNoise;
+    private final ThreadLocal<ColumnState> columnState;
 
     public NoiseBasedTerrainHeightFunction(
             NoiseSampler continents,
@@ -38,10 +50,31 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
         this.detail = detail;
         this.ravineNoise = ravineNoise;
         this.erosionNoise = erosionNoise;
+        // Per instance, so memos never mix samples from different sampler sets.
+        this.columnState = ThreadLocal.withInitial(ColumnState::new);
     }
 
+    /**
+     * Always exact, whatever the profile's heightInterpolation: a single column would need a
+     * whole lattice neighbourhood of full evaluations, which costs more than the exact stack.
+     * Interpolated heights come from computeGrid (TerrainTileCache, TerrainTileGenerator), so
+     * in a coarse mode this can differ from generated terrain; callers that must agree with
+     * it read through TileCachedHeightFunction.
+     */
     @Override
     public int computeHeight(int x, int z, WorldTerrainProfile profile) {
+        ColumnState state = columnState.get();
+        sampleColumn(x, z, profile, state.memo, state.column);
+        return state.column.height;
+    }
+
+    /** Always exact; see computeHeight. */
+    @Override
+    public void computeColumn(int x, int z, WorldTerrainProfile profile, ColumnSample out) {
+        sampleColumn(x, z, profile, columnState.get().memo, out);
+    }
+
+    private void sampleColumn(int x, int z, WorldTerrainProfile profile, QuantizedNoiseMemo m, ColumnSample out) {
         double cx = x * profile.continentsScale();
         double cz = z * profile.continentsScale();
         
@@ -56,34 +89,370 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
         
         double dx = x * profile.detailScale();
         double dz = z * profile.detailScale();
-        
-        double c = continents.sample((int) cx, (int) cz);
-        double e = erosion.sample((int) ex, (int) ez);
-        double r = ridge.sample((int) rx, (int) rz);
-        double v = valley.sample((int) vx, (int) vz);
-        double d = detail.sample((int) dx, (int) dz);
 
-        double baseLandHeight = computeBaseLandHeight(x, z, profile, c, e, r, v, d);
+        // Each layer is sampled exactly once; river carving reuses v and continentalness reuses c.
+        double c = m.sample(LAYER_CONTINENTS, continents, (int) cx, (int) cz);
+        double e = m.sample(LAYER_EROSION, erosion, (int) ex, (int) ez);
+        double r = m.sample(LAYER_RIDGE, ridge, (int) rx, (int) rz);
+        double v = m.sample(LAYER_VALLEY, valley, (int) vx, (int) vz);
+        double d = m.sample(LAYER_DETAIL, detail, (int) dx, (int) dz);
+
+        double ravine = m.sample(LAYER_RAVINE, ravineNoise, ravineX(x, profile), ravineZ(z, profile));
+        double erosionRaw = m.sample(LAYER_EROSION_SHAPING, erosionNoise, erosionShapingCoord(x), erosionShapingCoord(z));
+
+        shapeColumn(x, z, profile, c, e, r, v, d, ravine, erosionRaw, out);
+    }
+
+    /**
+     * Fill out[dz * width + dx] with computeHeight(x0 + dx, z0 + dz, profile) for a whole area.
+     *
+     * Each noise layer is sampled once per distinct quantized input via NoiseSampler#sampleGrid,
+     * instead of once per column. Scratch buffers are per-thread and reused between calls.
+     */
+    public void computeHeightGrid(int x0, int z0, int width, int depth, WorldTerrainProfile profile, int[] out) {
+        computeGrid(x0, z0, width, depth, profile, out, null);
+    }
+
+    /**
+     * Same as computeHeightGrid, additionally writing continentalness into continentalnessOut
+     * (same layout) when it is non-null.
+     */
+    public void computeGrid(
+        int x0, int z0, int width, int depth,
+        WorldTerrainProfile profile,
+        int[] heightsOut,
+        double[] continentalnessOut
+    ) {
+        GridScratch scratch = GRID_SCRATCH.get();
+        scratch.ensureCapacity(width, depth);
+
+        if (profile.heightInterpolation() != HeightInterpolation.EXACT) {
+            computeGridInterpolated(x0, z0, width, depth, profile, heightsOut, continentalnessOut, scratch);
+            return;
+        }
+
+        LayerWindow cw = scratch.continents;
+        LayerWindow ew = scratch.erosion;
+        LayerWindow rw = scratch.ridge;
+        LayerWindow vw = scratch.valley;
+        LayerWindow dw = scratch.detail;
+        LayerWindow ravw = scratch.ravine;
+        LayerWindow eshw = scratch.erosionShaping;
+
+        for (int i = 0; i < width; i++) {
+            int x = x0 + i;
+            cw.qx[i] = (int) (x * profile.continentsScale());
+            ew.qx[i] = (int) (x * profile.erosionScale());
+            rw.qx[i] = (int) (x * profile.ridgeScale());
+            vw.qx[i] = (int) (x * profile.valleyScale());
+            dw.qx[i] = (int) (x * profile.detailScale());
+            ravw.qx[i] = ravineX(x, profile);
+            eshw.qx[i] = erosionShapingCoord(x);
+        }
+        for (int j = 0; j < depth; j++) {
+            int z = z0 + j;
+            cw.qz[j] = (int) (z * profile.continentsScale());
+            ew.qz[j] = (int) (z * profile.erosionScale());
+            rw.qz[j] = (int) (z * profile.ridgeScale());
+            vw.qz[j] = (int) (z * profile.valleyScale());
+            dw.qz[j] = (int) (z * profile.detailScale());
+            ravw.qz[j] = ravineZ(z, profile);
+            eshw.qz[j] = erosionShapingCoord(z);
+        }
+
+        cw.fill(continents, width, depth);
+        ew.fill(erosion, width, depth);
+        rw.fill(ridge, width, depth);
+        vw.fill(valley, width, depth);
+        dw.fill(detail, width, depth);
+        ravw.fill(ravineNoise, width, depth);
+        eshw.fill(erosionNoise, width, depth);
+
+        ColumnSample column = scratch.column;
+        int i = 0;
+        for (int j = 0; j < depth; j++) {
+            for (int k = 0; k < width; k++) {
+                shapeColumn(
+                    x0 + k, z0 + j, profile,
+                    cw.get(k, j), ew.get(k, j), rw.get(k, j), vw.get(k, j), dw.get(k, j),
+                    ravw.get(k, j), eshw.get(k, j),
+                    column
+                );
+                heightsOut[i] = column.height;
+                if (continentalnessOut != null) {
+                    continentalnessOut[i] = column.continentalness;
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Coarse-lattice version of computeGrid: the full stack runs once per lattice point, and
+     * only the detail layer and erosion shaping run per block.
+     */
+    private void computeGridInterpolated(
+        int x0, int z0, int width, int depth,
+        WorldTerrainProfile profile,
+        int[] heightsOut,
+        double[] continentalnessOut,
+        GridScratch scratch
+    ) {
+        int cell = profile.interpolationCellSize();
+        boolean cubic = profile.heightInterpolation() == HeightInterpolation.BICUBIC;
+        int margin = cubic ? 1 : 0;
+
+        int li0 = Math.floorDiv(x0, cell) - margin;
+        int lj0 = Math.floorDiv(z0, cell) - margin;
+        int latticeWidth = Math.floorDiv(x0 + width - 1, cell) + 1 + margin - li0 + 1;
+        int latticeDepth = Math.floorDiv(z0 + depth - 1, cell) + 1 + margin - lj0 + 1;
+        scratch.ensureLattice(latticeWidth * latticeDepth);
+
+        QuantizedNoiseMemo m = columnState.get().memo;
+        int index = 0;
+        for (int lj = 0; lj < latticeDepth; lj++) {
+            for (int li = 0; li < latticeWidth; li++) {
+                sampleLattice((li0 + li) * cell, (lj0 + lj) * cell, profile, m, scratch, index++);
+            }
+        }
+
+        LayerWindow dw = scratch.detail;
+        LayerWindow cw = scratch.continents;
+        for (int i = 0; i < width; i++) {
+            int x = x0 + i;
+            dw.qx[i] = (int) (x * profile.detailScale());
+            cw.qx[i] = (int) (x * profile.continentsScale());
+        }
+        for (int j = 0; j < depth; j++) {
+            int z = z0 + j;
+            dw.qz[j] = (int) (z * profile.detailScale());
+            cw.qz[j] = (int) (z * profile.continentsScale());
+        }
+        dw.fill(detail, width, depth);
+        if (continentalnessOut != null) {
+            cw.fill(continents, width, depth);
+        }
 
-        double height;
+        int i = 0;
+        for (int j = 0; j < depth; j++) {
+            int z = z0 + j;
+            int cj = Math.floorDiv(z, cell);
+            double fz = (z - cj * cell) / (double) cell;
+            for (int k = 0; k < width; k++) {
+                int x = x0 + k;
+                int ci = Math.floorDiv(x, cell);
+                double fx = (x - ci * cell) / (double) cell;
+
+                double raw = interpolate(scratch.latticeRaw, latticeWidth, ci - li0, cj - lj0, fx, fz, cubic);
+                double gain = interpolate(scratch.latticeGain, latticeWidth, ci - li0, cj - lj0, fx, fz, cubic);
+                double shaping = interpolate(scratch.latticeShaping, latticeWidth, ci - li0, cj - lj0, fx, fz, cubic);
+                double carve = interpolate(scratch.latticeCarve, latticeWidth, ci - li0, cj - lj0, fx, fz, cubic);
+
+                double height = shapeErosion(raw + gain * dw.get(k, j), profile, shaping) - carve;
+                heightsOut[i] = finishHeight(height, profile);
+                if (continentalnessOut != null) {
+                    continentalnessOut[i] = cw.get(k, j);
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Evaluate the stack at a lattice point with the detail layer factored out.
+     *
+     * Height is only piecewise linear in detail: erosion shaping scales the height above and
+     * below baseHeightAmplitude by different multipliers. Before shaping it is linear, so we
+     * store that part as its value at detail = 0 (raw) and slope (gain), plus the shaping
+     * factor and the river/ravine carve depth, which do not depend on detail. Callers
+     * interpolate all four and apply shaping per block, so the kink lands where the block's own
+     * height crosses it.
+     */
+    private void sampleLattice(
+        int x, int z,
+        WorldTerrainProfile profile,
+        QuantizedNoiseMemo m,
+        GridScratch out,
+        int index
+    ) {
+        double c = m.sample(LAYER_CONTINENTS, continents, (int) (x * profile.continentsScale()), (int) (z * profile.continentsScale()));
+        double e = m.sample(LAYER_EROSION, erosion, (int) (x * profile.erosionScale()), (int) (z * profile.erosionScale()));
+        double r = m.sample(LAYER_RIDGE, ridge, (int) (x * profile.ridgeScale()), (int) (z * profile.ridgeScale()));
+        double v = m.sample(LAYER_VALLEY, valley, (int) (x * profile.valleyScale()), (int) (z * profile.valleyScale()));
+        double ravine = m.sample(LAYER_RAVINE, ravineNoise, ravineX(x, profile), ravineZ(z, profile));
+        double erosionRaw = m.sample(LAYER_EROSION_SHAPING, erosionNoise, erosionShapingCoord(x), erosionShapingCoord(z));
+
+        double extremeMask = profile.enableMegaMountains() ? extremeMask(c, e) : 0.0;
+        double riverMask = riverMask(profile, v);
+        double ravineMask = ravineMask(ravine);
+
+        double raw = unshapedHeight(x, z, profile, c, e, r, v, 0.0, extremeMask);
+        double withDetail = unshapedHeight(x, z, profile, c, e, r, v, 1.0, extremeMask);
+        double shaping = erosionShapingFactor(profile, erosionRaw);
+        double shaped = shapeErosion(raw, profile, shaping);
+
+        out.latticeRaw[index] = raw;
+        out.latticeGain[index] = withDetail - raw;
+        out.latticeShaping[index] = shaping;
+        out.latticeCarve[index] = shaped - applyRavines(applyRivers(shaped, profile, riverMask), profile, c, ravineMask);
+    }
+
+    private static double interpolate(double[] lattice, int latticeWidth, int ci, int cj, double fx, double fz, boolean cubic) {
+        if (!cubic) {
+            int i00 = cj * latticeWidth + ci;
+            int i01 = i00 + latticeWidth;
+            double top = lerp(lattice[i00], lattice[i00 + 1], fx);
+            double bottom = lerp(lattice[i01], lattice[i01 + 1], fx);
+            return lerp(top, bottom, fz);
+        }
+
+        double r0 = cubicRow(lattice, (cj - 1) * latticeWidth + ci, fx);
+        double r1 = cubicRow(lattice, cj * latticeWidth + ci, fx);
+        double r2 = cubicRow(lattice, (cj + 1) * latticeWidth + ci, fx);
+        double r3 = cubicRow(lattice, (cj + 2) * latticeWidth + ci, fx);
+        return catmullRom(r0, r1, r2, r3, fz);
+    }
+
+    private static double cubicRow(double[] lattice, int rowOrigin, double t) {
+        return catmullRom(lattice[rowOrigin - 1], lattice[rowOrigin], lattice[rowOrigin + 1], lattice[rowOrigin + 2], t);
+    }
+
+    private static double catmullRom(double p0, double p1, double p2, double p3, double t) {
+        return p1 + 0.5 * t * (p2 - p0 + t * (2.0 * p0 - 5.0 * p1 + 4.0 * p2 - p3 + t * (3.0 * (p1 - p2) + p3 - p0)));
+    }
+
+    /**
+     * Compare the profile's interpolation mode against the exact path over an area.
+     * Diagnostic only: allocates its own buffers.
+     */
+    public HeightInterpolationReport measureInterpolationError(
+        int x0, int z0, int width, int depth,
+        WorldTerrainProfile profile
+    ) {
+        int[] interpolated = new int[width * depth];
+        computeGrid(x0, z0, width, depth, profile, interpolated, null);
+
+        ColumnSample exact = new ColumnSample();
+        QuantizedNoiseMemo m = columnState.get().memo;
+
+        int maxError = 0;
+        long sumError = 0;
+        long sumSquares = 0;
+        int exactColumns = 0;
+
+        int i = 0;
+        for (int j = 0; j < depth; j++) {
+            for (int k = 0; k < width; k++) {
+                sampleColumn(x0 + k, z0 + j, profile, m, exact);
+                int error = Math.abs(exact.height - interpolated[i++]);
+                maxError = Math.max(maxError, error);
+                sumError += error;
+                sumSquares += (long) error * error;
+                if (error == 0) {
+                    exactColumns++;
+                }
+            }
+        }
+
+        int columns = width * depth;
+        return new HeightInterpolationReport(
+            profile.heightInterpolation(),
+            profile.interpolationCellSize(),
+            columns,
+            maxError,
+            columns == 0 ? 0.0 : (double) sumError / columns,
+            columns == 0 ? 0.0 : Math.sqrt((double) sumSquares / columns),
+            exactColumns
+        );
+    }
+
+    private void shapeColumn(
+        int x, int z,
+        WorldTerrainProfile profile,
+        double c,
+        double e,
+        double r,
+        double v,
+        double d,
+        double ravine,
+        double erosionRaw,
+        ColumnSample out
+    ) {
+        double extremeMask = profile.enableMegaMountains() ? extremeMask(c, e) : 0.0;
+        double riverMask = riverMask(profile, v);
+        double ravineMask = ravineMask(ravine);
+
+        double height = rawHeight(x, z, profile, c, e, r, v, d, erosionRaw, extremeMask, riverMask, ravineMask);
+
+        out.height = finishHeight(height, profile);
+        out.continentalness = c;
+        out.erosion = e;
+        out.ridge = r;
+        out.valley = v;
+        out.detail = d;
+        out.extremeMask = extremeMask;
+        out.riverMask = riverMask;
+        out.ravineMask = ravineMask;
+    }
+
+    /** Unclamped surface height before rounding. */
+    private double rawHeight(
+        int x, int z,
+        WorldTerrainProfile profile,
+        double c,
+        double e,
+        double r,
+        double v,
+        double d,
+        double erosionRaw,
+        double extremeMask,
+        double riverMask,
+        double ravineMask
+    ) {
+        double height = unshapedHeight(x, z, profile, c, e, r, v, d, extremeMask);
+        height = shapeErosion(height, profile, erosionShapingFactor(profile, erosionRaw));
+        height = applyRivers(height, profile, riverMask);
+        return applyRavines(height, profile, c, ravineMask);
+    }
+
+    /** Ocean floor or land height before erosion shaping; linear in d. */
+    private double unshapedHeight(
+        int x, int z,
+        WorldTerrainProfile profile,
+        double c,
+        double e,
+        double r,
+        double v,
+        double d,
+        double extremeMask
+    ) {
         if (c < profile.deepOceanThreshold()) {
             double t = clamp((profile.deepOceanThreshold() - c) / 0.5, 0.0, 1.0);
             double depth = lerp(profile.shallowOceanDepth(), profile.deepOceanDepth(), t);
-            height = profile.seaLevel() - depth;
+            return profile.seaLevel() - depth;
         } else if (c < profile.oceanThreshold()) {
-            height = profile.seaLevel() - profile.shallowOceanDepth();
-        } else {
-            height = baseLandHeight;
+            return profile.seaLevel() - profile.shallowOceanDepth();
         }
+        return computeBaseLandHeight(x, z, profile, c, e, r, v, d, extremeMask);
+    }
 
-        height = applyErosionShaping(x, z, height, profile);
-        height = applyRivers(x, z, height, profile);
-        height = applyRavines(x, z, height, profile, c);
-
+    private static int finishHeight(double height, WorldTerrainProfile profile) {
         double clamped = clamp(height, profile.minY(), profile.maxY());
         return (int) Math.round(clamped);
     }
 
+    private static int ravineX(int x, WorldTerrainProfile profile) {
+        return (int) (x * profile.ravineFrequency());
+    }
+
+    private static int ravineZ(int z, WorldTerrainProfile profile) {
+        return (int) (z * profile.ravineFrequency() * profile.ravineStretch());
+    }
+
+    private static int erosionShapingCoord(int coord) {
+        return (int) (coord * 0.0015);
+    }
+
     private double computeBaseLandHeight(
         int x, int z,
         WorldTerrainProfile profile,
@@ -91,7 +460,8 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
         double erosion,
         double ridge,
         double valley,
-        double detail
+        double detail,
+        double extremeMask
     ) {
         double c01 = (continents + 1.0) / 2.0;
         double base = profile.seaLevel() + profile.baseHeightAmplitude() * (c01 - 0.5);
@@ -106,7 +476,6 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
 
         if (profile.enableMegaMountains()) {
             // Existing extreme peak logic – tall continental interiors where erosion is low.
-            double extremeMask = clamp(erosionFactor * ((c01 - 0.5) * 2.0), 0.0, 1.0);
             extremeBoost = extremeMask * profile.extremeMountainBoost();
 
             // Optional "sky" boost: in the rarest, most extreme cases, push terrain
@@ -136,47 +505,60 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
         return base + mountainBoost + valleyCut + detailEffect + extremeBoost + skyBoost;
     }
 
-    private double applyRivers(int x, int z, double height, WorldTerrainProfile profile) {
-        double riverNoiseValue = valley.sample((int)(x * profile.valleyScale()), (int)(z * profile.valleyScale()));
+    /** Extreme peak mask – tall continental interiors where erosion is low. */
+    private static double extremeMask(double continents, double erosion) {
+        double c01 = (continents + 1.0) / 2.0;
+        double erosionFactor = 1.0 - ((erosion + 1.0) / 2.0);
+        return clamp(erosionFactor * ((c01 - 0.5) * 2.0), 0.0, 1.0);
+    }
+
+    private static double riverMask(WorldTerrainProfile profile, double riverNoiseValue) {
         double d = Math.abs(riverNoiseValue);
 
         double width = profile.riverWidth();
         if (d > width) {
-            return height;
+            return 0.0;
         }
 
         double edgeT = d / width;
         double centerT = 1.0 - edgeT;
-        centerT = centerT * centerT;
+        return centerT * centerT;
+    }
+
+    private static double ravineMask(double ravineValue) {
+        double d = Math.abs(ravineValue);
+
+        double band = 0.15;
+        if (d > band) {
+            return 0.0;
+        }
+
+        double t = d / band;
+        double centerT = 1.0 - t;
+        return centerT * centerT * centerT;
+    }
+
+    private double applyRivers(double height, WorldTerrainProfile profile, double riverMask) {
+        if (riverMask <= 0.0) {
+            return height;
+        }
 
         double maxDepth = profile.riverMaxDepth();
-        double carveDepth = maxDepth * centerT;
+        double carveDepth = maxDepth * riverMask;
 
         return height - carveDepth;
     }
 
     private double applyRavines(
-        int x,
-        int z,
         double height,
         WorldTerrainProfile profile,
-        double continents
+        double continents,
+        double ravineMask
     ) {
-        double nx = x * profile.ravineFrequency();
-        double nz = z * profile.ravineFrequency() * profile.ravineStretch();
-
-        double ravineValue = ravineNoise.sample((int) nx, (int) nz);
-        double d = Math.abs(ravineValue);
-
-        double band = 0.15;
-        if (d > band) {
+        if (ravineMask <= 0.0) {
             return height;
         }
 
-        double t = d / band;
-        double centerT = 1.0 - t;
-        centerT = centerT * centerT * centerT;
-
         boolean isOceanColumn = continents < profile.oceanThreshold();
 
         double strength = isOceanColumn
@@ -190,25 +572,20 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
         double verticalRange = profile.maxY() - profile.minY();
         double maxCarveDepth = verticalRange * 0.5 * strength;
 
-        double carveDepth = maxCarveDepth * centerT;
+        double carveDepth = maxCarveDepth * ravineMask;
 
         double carvedHeight = height - carveDepth;
 
         return Math.min(height, carvedHeight);
     }
 
-    private double applyErosionShaping(
-        int x,
-        int z,
-        double height,
-        WorldTerrainProfile profile
-    ) {
+    /** How strongly erosion shaping pulls a column towards its flattened height, in [0, strength]. */
+    private static double erosionShapingFactor(WorldTerrainProfile profile, double erosionRaw) {
         double strength = profile.erosionStrength();
         if (strength <= 0.0) {
-            return height;
+            return 0.0;
         }
 
-        double erosionRaw = erosionNoise.sample((int)(x * 0.0015), (int)(z * 0.0015));
         double erosion01 = (erosionRaw * 0.5) + 0.5;
 
         double threshold = profile.erosionThreshold();
@@ -217,7 +594,17 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
         double centerFactor = 1.0 - Math.min(1.0, dist / threshold);
         centerFactor = centerFactor * centerFactor;
 
-        double erosionFactor = centerFactor * strength;
+        return centerFactor * strength;
+    }
+
+    private static double shapeErosion(
+        double height,
+        WorldTerrainProfile profile,
+        double erosionFactor
+    ) {
+        if (profile.erosionStrength() <= 0.0) {
+            return height;
+        }
 
         double baseReference = profile.baseHeightAmplitude();
         double delta = height - baseReference;
@@ -254,6 +641,95 @@ public final class NoiseBasedTerrainHeightFunction implements TerrainHeightFunct
     public double computeContinentalness(int x, int z, WorldTerrainProfile profile) {
         double cx = x * profile.continentsScale();
         double cz = z * profile.continentsScale();
-        return continents.sample((int) cx, (int) cz);
+        return columnState.get().memo.sample(LAYER_CONTINENTS, continents, (int) cx, (int) cz);
+    }
+
+    /**
+     * Noise values for one layer over the lattice cells touched by a grid of columns.
+     * qx/qz hold each column's quantized sampler input; values holds the lattice samples.
+     */
+    private static final class LayerWindow {
+        int[] qx = new int[16];
+        int[] qz = new int[16];
+        double[] values = new double[16];
+        private int minQx;
+        private int minQz;
+        private int latticeWidth;
+
+        void ensureCapacity(int width, int depth) {
+            if (qx.length < width) {
+                qx = new int[width];
+            }
+            if (qz.length < depth) {
+                qz = new int[depth];
+            }
+        }
+
+        void fill(NoiseSampler sampler, int width, int depth) {
+            int maxQx = qx[0];
+            int maxQz = qz[0];
+            minQx = qx[0];
+            minQz = qz[0];
+            for (int i = 1; i < width; i++) {
+                minQx = Math.min(minQx, qx[i]);
+                maxQx = Math.max(maxQx, qx[i]);
+            }
+            for (int j = 1; j < depth; j++) {
+                minQz = Math.min(minQz, qz[j]);
+                maxQz = Math.max(maxQz, qz[j]);
+            }
+
+            latticeWidth = maxQx - minQx + 1;
+            int latticeDepth = maxQz - minQz + 1;
+            int cells = latticeWidth * latticeDepth;
+            if (values.length < cells) {
+                values = new double[cells];
+            }
+
+            sampler.sampleGrid(minQx, minQz, latticeWidth, latticeDepth, 1, values);
+        }
+
+        double get(int i, int j) {
+            return values[(qz[j] - minQz) * latticeWidth + (qx[i] - minQx)];
+        }
+    }
+
+    private static final class GridScratch {
+        final LayerWindow continents = new LayerWindow();
+        final LayerWindow erosion = new LayerWindow();
+        final LayerWindow ridge = new LayerWindow();
+        final LayerWindow valley = new LayerWindow();
+        final LayerWindow detail = new LayerWindow();
+        final LayerWindow ravine = new LayerWindow();
+        final LayerWindow erosionShaping = new LayerWindow();
+        final ColumnSample column = new ColumnSample();
+        double[] latticeRaw = new double[64];
+        double[] latticeGain = new double[64];
+        double[] latticeShaping = new double[64];
+        double[] latticeCarve = new double[64];
+
+        void ensureLattice(int points) {
+            if (latticeRaw.length < points) {
+                latticeRaw = new double[points];
+                latticeGain = new double[points];
+                latticeShaping = new double[points];
+                latticeCarve = new double[points];
+            }
+        }
+
+        void ensureCapacity(int width, int depth) {
+            continents.ensureCapacity(width, depth);
+            erosion.ensureCapacity(width, depth);
+            ridge.ensureCapacity(width, depth);
+            valley.ensureCapacity(width, depth);
+            detail.ensureCapacity(width, depth);
+            ravine.ensureCapacity(width, depth);
+            erosionShaping.ensureCapacity(width, depth);
+        }
+    }
+
+    private static final class ColumnState {
+        final QuantizedNoiseMemo memo = new QuantizedNoiseMemo(LAYER_COUNT);
+        final ColumnSample column = new ColumnSample();
     }
 }
@@ -12,4 +12,21 @@ public interface NoiseSampler {
      * allowed as long as they are consistent with the terrain formulas.
      */
     double sample(int x, int z);
+
+    /**
+     * Sample a width x depth grid starting at (x0, z0), stepping stride blocks per cell.
+     *
+     * Results are written row-major into out: out[dz * width + dx] = sample(x0 + dx * stride, z0 + dz * stride).
+     * Values must match sample() exactly; implementations may only change how they are computed.
+     * The default does not allocate.
+     */
+    default void sampleGrid(int x0, int z0, int width, int depth, int stride, double[] out) {
+        int i = 0;
+        for (int dz = 0; dz < depth; dz++) {
+            int z = z0 + dz * stride;
+            for (int dx = 0; dx < width; dx++) {
+                out[i++] = sample(x0 + dx * stride, z);
+            }
+        }
+    }
 }
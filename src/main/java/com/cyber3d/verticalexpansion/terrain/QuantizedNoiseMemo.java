@@ -0,0 +1,44 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * QuantizedNoiseMemo remembers recent samples for a fixed set of noise layers.
+ *
+ * NoiseBasedTerrainHeightFunction truncates scaled coordinates to ints before sampling, so
+ * hundreds of neighbouring columns hit the same lattice input. Each layer gets a small
+ * direct-mapped table keyed on that input; repeated lookups become an array hit.
+ *
+ * Not thread-safe: callers keep one instance per thread.
+ */
+final class QuantizedNoiseMemo {
+
+    private static final int SLOTS_PER_LAYER = 128;
+    private static final int SLOT_MASK = SLOTS_PER_LAYER - 1;
+
+    private final long[] keys;
+    private final double[] values;
+    private final boolean[] filled;
+
+    QuantizedNoiseMemo(int layers) {
+        int size = layers * SLOTS_PER_LAYER;
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.filled = new boolean[size];
+    }
+
+    double sample(int layer, NoiseSampler sampler, int qx, int qz) {
+        long key = ((long) qx << 32) | (qz & 0xFFFFFFFFL);
+        int slot = layer * SLOTS_PER_LAYER + ((int) HashCommon.mix(key) & SLOT_MASK);
+
+        if (filled[slot] && keys[slot] == key) {
+            return values[slot];
+        }
+
+        double value = sampler.sample(qx, qz);
+        keys[slot] = key;
+        values[slot] = value;
+        filled[slot] = true;
+        return value;
+    }
+}
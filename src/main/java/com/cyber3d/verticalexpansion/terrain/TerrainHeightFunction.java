@@ -26,4 +26,18 @@ public interface TerrainHeightFunction {
      * @return continentalness value (typically in [-1, 1])
      */
     double computeContinentalness(int x, int z, WorldTerrainProfile profile);
+
+    /**
+     * Compute height, continentalness and terrain masks for (x, z) in one evaluation.
+     *
+     * The default falls back to computeHeight + computeContinentalness and leaves the
+     * remaining fields at 0; implementations should override it to sample each layer once.
+     *
+     * @param out reusable sample to fill
+     */
+    default void computeColumn(int x, int z, WorldTerrainProfile profile, ColumnSample out) {
+        out.clearMasks();
+        out.height = computeHeight(x, z, profile);
+        out.continentalness = computeContinentalness(x, z, profile);
+    }
 }
@@ -0,0 +1,152 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * TerrainTileCache memoizes surface height and continentalness per 16x16 chunk tile.
+ *
+ * Density functions are evaluated for every (x, y, z) in a chunk, but the terrain stack is 2D,
+ * so a 1280-block column would otherwise recompute the same height hundreds of times.
+ *
+ * Design notes:
+ * - Direct-mapped: each chunk hashes to exactly one slot, and a new tile simply replaces
+ *   whatever was there. Memory is bounded by the slot count.
+ * - Tiles are immutable once built and published through an AtomicReferenceArray, so
+ *   worldgen worker threads can share them without locking. Two threads racing on the
+ *   same tile both compute identical values; the last write wins.
+ * - On a miss the optional TerrainTileStore (the level's height atlas) is asked first, so
+ *   chunks generated earlier are read back instead of recomputed.
+ */
+public final class TerrainTileCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int TILE_SIZE = 16;
+    private static final int TILE_AREA = TILE_SIZE * TILE_SIZE;
+
+    private final TerrainHeightFunction heightFunction;
+    private final WorldTerrainProfile profile;
+    private final AtomicReferenceArray<Tile> slots;
+    private final int mask;
+    private volatile TerrainTileStore store;
+
+    public TerrainTileCache(TerrainHeightFunction heightFunction, WorldTerrainProfile profile) {
+        this(heightFunction, profile, DEFAULT_CAPACITY);
+    }
+
+    public TerrainTileCache(TerrainHeightFunction heightFunction, WorldTerrainProfile profile, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int size = HashCommon.nextPowerOfTwo(capacity);
+        this.heightFunction = heightFunction;
+        this.profile = profile;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public int height(int x, int z) {
+        return tile(x >> 4, z >> 4).heights[index(x, z)];
+    }
+
+    public double continentalness(int x, int z) {
+        return tile(x >> 4, z >> 4).continentalness[index(x, z)];
+    }
+
+    /**
+     * Copy a whole chunk tile (row-major by z, index = (dz << 4) | dx) into the given arrays.
+     */
+    public void copyTile(int chunkX, int chunkZ, int[] heightsOut, double[] continentalnessOut) {
+        Tile tile = tile(chunkX, chunkZ);
+        System.arraycopy(tile.heights, 0, heightsOut, 0, TILE_AREA);
+        System.arraycopy(tile.continentalness, 0, continentalnessOut, 0, TILE_AREA);
+    }
+
+    public TerrainHeightFunction getHeightFunction() {
+        return heightFunction;
+    }
+
+    public WorldTerrainProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Answer misses from store where it has the chunk; null to always compute.
+     */
+    public void setStore(TerrainTileStore store) {
+        this.store = store;
+    }
+
+    public TerrainTileStore getStore() {
+        return store;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private Tile tile(int chunkX, int chunkZ) {
+        long key = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+        int slot = (int) HashCommon.mix(key) & mask;
+
+        Tile tile = slots.get(slot);
+        if (tile != null && tile.key == key) {
+            return tile;
+        }
+
+        tile = buildTile(key, chunkX, chunkZ);
+        slots.set(slot, tile);
+        return tile;
+    }
+
+    private Tile buildTile(long key, int chunkX, int chunkZ) {
+        int[] heights = new int[TILE_AREA];
+        double[] continentalness = new double[TILE_AREA];
+        int originX = chunkX << 4;
+        int originZ = chunkZ << 4;
+
+        TerrainTileStore store = this.store;
+        if (store != null && store.loadTile(chunkX, chunkZ, heights, continentalness)) {
+            return new Tile(key, heights, continentalness);
+        }
+
+        if (heightFunction instanceof NoiseBasedTerrainHeightFunction noiseBased) {
+            noiseBased.computeGrid(originX, originZ, TILE_SIZE, TILE_SIZE, profile, heights, continentalness);
+        } else {
+            ColumnSample column = new ColumnSample();
+            for (int dz = 0; dz < TILE_SIZE; dz++) {
+                for (int dx = 0; dx < TILE_SIZE; dx++) {
+                    heightFunction.computeColumn(originX + dx, originZ + dz, profile, column);
+                    heights[(dz << 4) | dx] = column.height();
+                    continentalness[(dz << 4) | dx] = column.continentalness();
+                }
+            }
+        }
+
+        return new Tile(key, heights, continentalness);
+    }
+
+    private static int index(int x, int z) {
+        return ((z & 15) << 4) | (x & 15);
+    }
+
+    private static final class Tile {
+        final long key;
+        final int[] heights;
+        final double[] continentalness;
+
+        Tile(long key, int[] heights, double[] continentalness) {
+            this.key = key;
+            this.heights = heights;
+            this.continentalness = continentalness;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * TerrainTileGenerator fills surface height and continentalness for a rectangle of chunks in
+ * parallel, without generating the chunks themselves.
+ *
+ * Used for work that needs heights for very large areas (pregen planning, structure search,
+ * map renders), where one computeHeight call per column would keep a single core busy.
+ *
+ * Design notes:
+ * - The rectangle is split recursively along its longer axis until a piece is at most
+ *   LEAF_CHUNKS x LEAF_CHUNKS chunks; each leaf is one computeGrid call, so lattice sampling
+ *   is shared across the whole leaf rather than per chunk.
+ * - Every worker owns its scratch: the height function's grid buffers are thread-local, and so
+ *   are the leaf buffers here. Leaves write disjoint parts of the output, so no locking.
+ * - Output matches TerrainTileCache exactly in every mode, since leaves are aligned to the
+ *   chunk grid and lattice points are absolute. It matches computeHeight/computeContinentalness
+ *   only in EXACT mode: those are always exact, while computeGrid interpolates.
+ */
+public final class TerrainTileGenerator {
+
+    /** Leaf size in chunks along each axis. */
+    public static final int LEAF_CHUNKS = 4;
+
+    private static final int LEAF_BLOCKS = LEAF_CHUNKS * 16;
+    private static final int TILE_AREA = 16 * 16;
+
+    private final NoiseBasedTerrainHeightFunction heightFunction;
+    private final WorldTerrainProfile profile;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<LeafScratch> leafScratch = ThreadLocal.withInitial(LeafScratch::new);
+
+    public TerrainTileGenerator(NoiseBasedTerrainHeightFunction heightFunction, WorldTerrainProfile profile) {
+        this(heightFunction, profile, ForkJoinPool.commonPool());
+    }
+
+    public TerrainTileGenerator(
+        NoiseBasedTerrainHeightFunction heightFunction,
+        WorldTerrainProfile profile,
+        ForkJoinPool pool
+    ) {
+        this.heightFunction = heightFunction;
+        this.profile = profile;
+        this.pool = pool;
+    }
+
+    /**
+     * Fill a whole block rectangle covering chunksX x chunksZ chunks starting at
+     * (minChunkX, minChunkZ). Both arrays are row-major by z:
+     * index = (z - minChunkZ * 16) * (chunksX * 16) + (x - minChunkX * 16).
+     * continentalnessOut may be null.
+     */
+    public void generate(
+        int minChunkX, int minChunkZ, int chunksX, int chunksZ,
+        int[] heightsOut,
+        double[] continentalnessOut
+    ) {
+        long columns = checkArea(chunksX, chunksZ);
+        if (heightsOut.length < columns
+                || (continentalnessOut != null && continentalnessOut.length < columns)) {
+            throw new IllegalArgumentException("output arrays too small for " + columns + " columns");
+        }
+        if (columns == 0) {
+            return;
+        }
+
+        int rowStride = chunksX * 16;
+        pool.invoke(new Split(minChunkX, minChunkZ, chunksX, chunksZ, (cx, cz, w, d, heights, cont) -> {
+            int outX = (cx - minChunkX) * 16;
+            int outZ = (cz - minChunkZ) * 16;
+            int blocksW = w * 16;
+            int blocksD = d * 16;
+            for (int j = 0; j < blocksD; j++) {
+                int dst = (outZ + j) * rowStride + outX;
+                System.arraycopy(heights, j * blocksW, heightsOut, dst, blocksW);
+                if (continentalnessOut != null) {
+                    System.arraycopy(cont, j * blocksW, continentalnessOut, dst, blocksW);
+                }
+            }
+        }));
+    }
+
+    /**
+     * Stream the rectangle to consumer one chunk tile at a time, without holding the whole
+     * area in memory. The consumer is called concurrently from pool workers; the arrays it
+     * receives are 16x16, row-major by z (index = (dz << 4) | dx), and are reused once it returns.
+     */
+    public void generate(int minChunkX, int minChunkZ, int chunksX, int chunksZ, TileConsumer consumer) {
+        if (checkArea(chunksX, chunksZ) == 0) {
+            return;
+        }
+
+        pool.invoke(new Split(minChunkX, minChunkZ, chunksX, chunksZ, (cx, cz, w, d, heights, cont) -> {
+            LeafScratch scratch = leafScratch.get();
+            int blocksW = w * 16;
+            for (int tz = 0; tz < d; tz++) {
+                for (int tx = 0; tx < w; tx++) {
+                    for (int dz = 0; dz < 16; dz++) {
+                        int src = (tz * 16 + dz) * blocksW + tx * 16;
+                        System.arraycopy(heights, src, scratch.tileHeights, dz << 4, 16);
+                        System.arraycopy(cont, src, scratch.tileContinentalness, dz << 4, 16);
+                    }
+                    consumer.accept(cx + tx, cz + tz, scratch.tileHeights, scratch.tileContinentalness);
+                }
+            }
+        }));
+    }
+
+    public NoiseBasedTerrainHeightFunction getHeightFunction() {
+        return heightFunction;
+    }
+
+    public WorldTerrainProfile getProfile() {
+        return profile;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    private static long checkArea(int chunksX, int chunksZ) {
+        if (chunksX < 0 || chunksZ < 0) {
+            throw new IllegalArgumentException("chunk counts must not be negative");
+        }
+        long columns = (long) chunksX * chunksZ * TILE_AREA;
+        if (columns > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("area too large: " + chunksX + "x" + chunksZ + " chunks");
+        }
+        return columns;
+    }
+
+    @FunctionalInterface
+    public interface TileConsumer {
+        void accept(int chunkX, int chunkZ, int[] heights, double[] continentalness);
+    }
+
+    /**
+     * Receives one computed leaf: w x d chunks starting at (chunkX, chunkZ), as a
+     * (w * 16) x (d * 16) row-major grid. Arrays are per-worker scratch.
+     */
+    @FunctionalInterface
+    private interface LeafSink {
+        void accept(int chunkX, int chunkZ, int w, int d, int[] heights, double[] continentalness);
+    }
+
+    private final class Split extends RecursiveAction {
+        private final int chunkX;
+        private final int chunkZ;
+        private final int w;
+        private final int d;
+        private final LeafSink sink;
+
+        Split(int chunkX, int chunkZ, int w, int d, LeafSink sink) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.w = w;
+            this.d = d;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (w > LEAF_CHUNKS && w >= d) {
+                int half = w >>> 1;
+                invokeAll(
+                    new Split(chunkX, chunkZ, half, d, sink),
+                    new Split(chunkX + half, chunkZ, w - half, d, sink)
+                );
+            } else if (d > LEAF_CHUNKS) {
+                int half = d >>> 1;
+                invokeAll(
+                    new Split(chunkX, chunkZ, w, half, sink),
+                    new Split(chunkX, chunkZ + half, w, d - half, sink)
+                );
+            } else {
+                LeafScratch scratch = leafScratch.get();
+                heightFunction.computeGrid(
+                    chunkX << 4, chunkZ << 4, w * 16, d * 16, profile,
+                    scratch.heights, scratch.continentalness
+                );
+                sink.accept(chunkX, chunkZ, w, d, scratch.heights, scratch.continentalness);
+            }
+        }
+    }
+
+    private static final class LeafScratch {
+        final int[] heights = new int[LEAF_BLOCKS * LEAF_BLOCKS];
+        final double[] continentalness = new double[LEAF_BLOCKS * LEAF_BLOCKS];
+        final int[] tileHeights = new int[TILE_AREA];
+        final double[] tileContinentalness = new double[TILE_AREA];
+    }
+}
@@ -0,0 +1,16 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+/**
+ * Persistent source of finished chunk tiles, consulted by TerrainTileCache before it runs the
+ * noise stack for a chunk.
+ *
+ * Called from worldgen worker threads, so implementations must be thread-safe.
+ */
+public interface TerrainTileStore {
+
+    /**
+     * Fill heightsOut and continentalnessOut (16x16, index = (dz << 4) | dx) and return true if
+     * the chunk is stored; otherwise return false.
+     */
+    boolean loadTile(int chunkX, int chunkZ, int[] heightsOut, double[] continentalnessOut);
+}
@@ -0,0 +1,46 @@
+package com.cyber3d.verticalexpansion.terrain;
+
+/**
+ * TerrainHeightFunction that answers from a TerrainTileCache, so single-column lookups see the
+ * same height and continentalness as the density functions and biome source, interpolated
+ * modes included.
+ *
+ * Lookups under a profile other than the cache's go straight to the cache's height function.
+ * computeColumn fills the remaining fields from that function; only height and continentalness
+ * come from the tile.
+ */
+public final class TileCachedHeightFunction implements TerrainHeightFunction {
+
+    private final TerrainTileCache tileCache;
+
+    public TileCachedHeightFunction(TerrainTileCache tileCache) {
+        this.tileCache = tileCache;
+    }
+
+    @Override
+    public int computeHeight(int x, int z, WorldTerrainProfile profile) {
+        return profile == tileCache.getProfile()
+            ? tileCache.height(x, z)
+            : tileCache.getHeightFunction().computeHeight(x, z, profile);
+    }
+
+    @Override
+    public double computeContinentalness(int x, int z, WorldTerrainProfile profile) {
+        return profile == tileCache.getProfile()
+            ? tileCache.continentalness(x, z)
+            : tileCache.getHeightFunction().computeContinentalness(x, z, profile);
+    }
+
+    @Override
+    public void computeColumn(int x, int z, WorldTerrainProfile profile, ColumnSample out) {
+        tileCache.getHeightFunction().computeColumn(x, z, profile, out);
+        if (profile == tileCache.getProfile()) {
+            out.height = tileCache.height(x, z);
+            out.continentalness = tileCache.continentalness(x, z);
+        }
+    }
+
+    public TerrainTileCache getTileCache() {
+        return tileCache;
+    }
+}
@@ -55,4 +55,13 @@ public interface WorldTerrainProfile {
     double erosionThreshold();
     double erosionFlattenMultiplier();
     double erosionRidgeMultiplier();
+
+    // Height interpolation (opt-in; EXACT evaluates every column)
+    default HeightInterpolation heightInterpolation() {
+        return HeightInterpolation.EXACT;
+    }
+
+    default int interpolationCellSize() {
+        return 4;
+    }
 }
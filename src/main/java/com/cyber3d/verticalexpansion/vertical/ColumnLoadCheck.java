@@ -0,0 +1,11 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+/**
+ * Tells the manager whether a column's chunk is currently loaded. In game this is
+ * ServerChunkCache#getChunkNow; tests supply their own.
+ */
+@FunctionalInterface
+interface ColumnLoadCheck {
+
+    boolean isLoaded(int chunkX, int chunkZ);
+}
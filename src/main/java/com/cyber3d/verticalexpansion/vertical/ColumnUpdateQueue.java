@@ -0,0 +1,78 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+/**
+ * ColumnUpdateQueue holds the columns of one dimension waiting for a mask recompute,
+ * ordered by distance (in chunks) to the player that queued them.
+ *
+ * Design notes:
+ * - Bucket queue: one list per distance ring, so enqueue and poll are O(1) amortized.
+ * - Each column is pending at most once. Re-queueing a pending column at a smaller
+ *   distance moves it to the nearer ring; the old entry is left behind and skipped on poll.
+ * - Server-thread only.
+ */
+final class ColumnUpdateQueue {
+
+    /** Distances beyond this share the last ring. */
+    static final int MAX_RING = 64;
+
+    private final Long2IntOpenHashMap pending = new Long2IntOpenHashMap();
+    private final LongArrayList[] rings = new LongArrayList[MAX_RING + 1];
+    private int lowestRing = MAX_RING + 1;
+
+    ColumnUpdateQueue() {
+        pending.defaultReturnValue(-1);
+        for (int i = 0; i < rings.length; i++) {
+            rings[i] = new LongArrayList();
+        }
+    }
+
+    void enqueue(long columnKey, int distance) {
+        int ring = Math.min(Math.max(distance, 0), MAX_RING);
+        int current = pending.get(columnKey);
+        if (current >= 0 && current <= ring) {
+            return;
+        }
+        pending.put(columnKey, ring);
+        rings[ring].add(columnKey);
+        if (ring < lowestRing) {
+            lowestRing = ring;
+        }
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    /**
+     * Remove and return the nearest pending column. Must not be called when empty.
+     */
+    long poll() {
+        while (lowestRing <= MAX_RING) {
+            LongArrayList ring = rings[lowestRing];
+            while (!ring.isEmpty()) {
+                long key = ring.removeLong(ring.size() - 1);
+                if (pending.get(key) == lowestRing) {
+                    pending.remove(key);
+                    return key;
+                }
+            }
+            lowestRing++;
+        }
+        throw new IllegalStateException("ColumnUpdateQueue is empty");
+    }
+
+    void clear() {
+        pending.clear();
+        for (LongArrayList ring : rings) {
+            ring.clear();
+        }
+        lowestRing = MAX_RING + 1;
+    }
+}
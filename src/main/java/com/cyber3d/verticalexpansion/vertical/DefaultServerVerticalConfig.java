@@ -4,24 +4,94 @@ import com.cyber3d.verticalexpansion.core.WorldHeightConfig;
 
 public final class DefaultServerVerticalConfig implements ServerVerticalConfig {
 
+    public static final int DEFAULT_MAX_CACHED_COLUMNS = 16384;
+    public static final long DEFAULT_CACHED_COLUMN_TTL_MILLIS = 60_000L;
+    public static final long DEFAULT_COLUMN_UPDATE_BUDGET_NANOS = 500_000L;
+    public static final int DEFAULT_HALO_SECTIONS = 2;
+    public static final int DEFAULT_HALO_TICK_INTERVAL = 4;
+    public static final int DEFAULT_MAX_DEFERRED_NEIGHBOR_UPDATES = 65_536;
+    public static final int DEFAULT_NEIGHBOR_REPLAY_BUDGET = 256;
+    public static final boolean DEFAULT_RESTRICT_SPAWNS_TO_ACTIVE_SECTIONS = true;
+    public static final boolean DEFAULT_BANDED_MOB_CAPS = false;
+
     private final WorldHeightConfig heightConfig;
     private final int verticalSectionWindow;
     private final int maxActiveSectionsPerColumn;
+    private final int maxCachedColumns;
+    private final long cachedColumnTtlMillis;
+    private final long columnUpdateBudgetNanos;
+    private final int haloSections;
+    private final int haloTickInterval;
+    private final int maxDeferredNeighborUpdates;
+    private final int neighborReplayBudget;
+    private final boolean restrictSpawnsToActiveSections;
+    private final boolean bandedMobCaps;
 
     public DefaultServerVerticalConfig(
             WorldHeightConfig heightConfig,
             int verticalSectionWindow,
             int maxActiveSectionsPerColumn
     ) {
+        this(heightConfig, verticalSectionWindow, maxActiveSectionsPerColumn,
+            DEFAULT_MAX_CACHED_COLUMNS, DEFAULT_CACHED_COLUMN_TTL_MILLIS, DEFAULT_COLUMN_UPDATE_BUDGET_NANOS,
+            DEFAULT_HALO_SECTIONS, DEFAULT_HALO_TICK_INTERVAL,
+            DEFAULT_MAX_DEFERRED_NEIGHBOR_UPDATES, DEFAULT_NEIGHBOR_REPLAY_BUDGET,
+            DEFAULT_RESTRICT_SPAWNS_TO_ACTIVE_SECTIONS, DEFAULT_BANDED_MOB_CAPS);
+    }
+
+    public DefaultServerVerticalConfig(
+            WorldHeightConfig heightConfig,
+            int verticalSectionWindow,
+            int maxActiveSectionsPerColumn,
+            int maxCachedColumns,
+            long cachedColumnTtlMillis,
+            long columnUpdateBudgetNanos,
+            int haloSections,
+            int haloTickInterval,
+            int maxDeferredNeighborUpdates,
+            int neighborReplayBudget,
+            boolean restrictSpawnsToActiveSections,
+            boolean bandedMobCaps
+    ) {
+        if (maxCachedColumns <= 0) {
+            throw new IllegalArgumentException("maxCachedColumns must be positive");
+        }
+        if (haloSections < 0) {
+            throw new IllegalArgumentException("haloSections must not be negative");
+        }
+        if (haloTickInterval <= 0) {
+            throw new IllegalArgumentException("haloTickInterval must be positive");
+        }
+        if (maxDeferredNeighborUpdates < 0 || neighborReplayBudget < 0) {
+            throw new IllegalArgumentException("maxDeferredNeighborUpdates and neighborReplayBudget must not be negative");
+        }
         this.heightConfig = heightConfig;
         this.verticalSectionWindow = verticalSectionWindow;
         this.maxActiveSectionsPerColumn = maxActiveSectionsPerColumn;
+        this.maxCachedColumns = maxCachedColumns;
+        this.cachedColumnTtlMillis = cachedColumnTtlMillis;
+        this.columnUpdateBudgetNanos = columnUpdateBudgetNanos;
+        this.haloSections = haloSections;
+        this.haloTickInterval = haloTickInterval;
+        this.maxDeferredNeighborUpdates = maxDeferredNeighborUpdates;
+        this.neighborReplayBudget = neighborReplayBudget;
+        this.restrictSpawnsToActiveSections = restrictSpawnsToActiveSections;
+        this.bandedMobCaps = bandedMobCaps;
     }
 
     public static DefaultServerVerticalConfig standard(WorldHeightConfig heightConfig) {
         return new DefaultServerVerticalConfig(heightConfig, 3, 12);
     }
 
+    /**
+     * Same settings for a level with different height bounds.
+     */
+    public DefaultServerVerticalConfig withWorldHeightConfig(WorldHeightConfig heightConfig) {
+        return new DefaultServerVerticalConfig(heightConfig, verticalSectionWindow, maxActiveSectionsPerColumn,
+            maxCachedColumns, cachedColumnTtlMillis, columnUpdateBudgetNanos, haloSections, haloTickInterval,
+            maxDeferredNeighborUpdates, neighborReplayBudget, restrictSpawnsToActiveSections, bandedMobCaps);
+    }
+
     @Override
     public WorldHeightConfig worldHeightConfig() {
         return heightConfig;
@@ -36,4 +106,49 @@ public final class DefaultServerVerticalConfig implements ServerVerticalConfig {
     public int maxActiveSectionsPerColumn() {
         return maxActiveSectionsPerColumn;
     }
+
+    @Override
+    public int maxCachedColumns() {
+        return maxCachedColumns;
+    }
+
+    @Override
+    public long cachedColumnTtlMillis() {
+        return cachedColumnTtlMillis;
+    }
+
+    @Override
+    public long columnUpdateBudgetNanos() {
+        return columnUpdateBudgetNanos;
+    }
+
+    @Override
+    public int haloSections() {
+        return haloSections;
+    }
+
+    @Override
+    public int haloTickInterval() {
+        return haloTickInterval;
+    }
+
+    @Override
+    public int maxDeferredNeighborUpdates() {
+        return maxDeferredNeighborUpdates;
+    }
+
+    @Override
+    public int neighborReplayBudget() {
+        return neighborReplayBudget;
+    }
+
+    @Override
+    public boolean restrictSpawnsToActiveSections() {
+        return restrictSpawnsToActiveSections;
+    }
+
+    @Override
+    public boolean bandedMobCaps() {
+        return bandedMobCaps;
+    }
 }
@@ -0,0 +1,76 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PlayerChunkIndex buckets the players of one dimension on a coarse chunk grid.
+ *
+ * Each player is registered in every cell their view square overlaps, so finding the players
+ * that can see a column is one cell lookup plus a distance check on the few players in it,
+ * instead of a scan over every player in the level.
+ *
+ * Players must be removed before their window is updated, since removal uses the window they
+ * were added with. Server-thread only.
+ */
+final class PlayerChunkIndex {
+
+    /** Cells are (1 << CELL_SHIFT) chunks on a side. */
+    private static final int CELL_SHIFT = 3;
+
+    private final Long2ObjectOpenHashMap<List<TrackedPlayerView>> cells = new Long2ObjectOpenHashMap<>();
+
+    void add(TrackedPlayerView view) {
+        int r = view.viewDistanceChunks();
+        for (int cz = (view.chunkZ() - r) >> CELL_SHIFT; cz <= (view.chunkZ() + r) >> CELL_SHIFT; cz++) {
+            for (int cx = (view.chunkX() - r) >> CELL_SHIFT; cx <= (view.chunkX() + r) >> CELL_SHIFT; cx++) {
+                cells.computeIfAbsent(cellKey(cx, cz), k -> new ArrayList<>(2)).add(view);
+            }
+        }
+    }
+
+    void remove(TrackedPlayerView view) {
+        int r = view.viewDistanceChunks();
+        for (int cz = (view.chunkZ() - r) >> CELL_SHIFT; cz <= (view.chunkZ() + r) >> CELL_SHIFT; cz++) {
+            for (int cx = (view.chunkX() - r) >> CELL_SHIFT; cx <= (view.chunkX() + r) >> CELL_SHIFT; cx++) {
+                long key = cellKey(cx, cz);
+                List<TrackedPlayerView> bucket = cells.get(key);
+                if (bucket != null && bucket.remove(view) && bucket.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the contents of out with the players whose view square covers the column.
+     */
+    void playersCovering(int chunkX, int chunkZ, List<PlayerView> out) {
+        out.clear();
+        List<TrackedPlayerView> bucket = cells.get(cellKey(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT));
+        if (bucket == null) {
+            return;
+        }
+        for (int i = 0, n = bucket.size(); i < n; i++) {
+            TrackedPlayerView view = bucket.get(i);
+            int r = view.viewDistanceChunks();
+            if (Math.abs(chunkX - view.chunkX()) <= r && Math.abs(chunkZ - view.chunkZ()) <= r) {
+                out.add(view);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return cells.isEmpty();
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -4,5 +4,13 @@ public interface PlayerView {
     int x();
     int y();
     int z();
+
+    /** Effective chunk view distance: the client's request capped by the server's. */
     int viewDistanceChunks();
+
+    /** Radius in chunks within which the server ticks the world for this player; never above viewDistanceChunks. */
+    int simulationDistanceChunks();
+
+    /** Blocks per tick along Y, averaged over the player's recent positions; negative when descending. */
+    double verticalVelocity();
 }
@@ -0,0 +1,79 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+/**
+ * Like SimpleVerticalSectionPolicy, but stretches each player's window in the direction they are
+ * moving vertically, so sections ahead of a fall or an elytra dive are already active when the
+ * player gets there.
+ *
+ * Design notes:
+ * - The lead is the distance covered in lookaheadTicks at the player's current vertical
+ *   velocity, rounded to sections and capped at maxLeadSections. Only the side the player is
+ *   heading towards is extended.
+ * - Hysteresis: a section that was active in the column's previous mask stays active until it
+ *   is more than hysteresisSections outside the window, so a player hovering at a section
+ *   boundary does not toggle the sections at the far edge on and off.
+ */
+public final class PredictiveVerticalSectionPolicy implements VerticalSectionPolicy {
+
+    public static final int DEFAULT_LOOKAHEAD_TICKS = 40;
+    public static final int DEFAULT_MAX_LEAD_SECTIONS = 8;
+    public static final int DEFAULT_HYSTERESIS_SECTIONS = 1;
+
+    private final int lookaheadTicks;
+    private final int maxLeadSections;
+    private final int hysteresisSections;
+
+    public PredictiveVerticalSectionPolicy() {
+        this(DEFAULT_LOOKAHEAD_TICKS, DEFAULT_MAX_LEAD_SECTIONS, DEFAULT_HYSTERESIS_SECTIONS);
+    }
+
+    public PredictiveVerticalSectionPolicy(int lookaheadTicks, int maxLeadSections, int hysteresisSections) {
+        if (lookaheadTicks < 0 || maxLeadSections < 0 || hysteresisSections < 0) {
+            throw new IllegalArgumentException("lookaheadTicks, maxLeadSections and hysteresisSections must not be negative");
+        }
+        this.lookaheadTicks = lookaheadTicks;
+        this.maxLeadSections = maxLeadSections;
+        this.hysteresisSections = hysteresisSections;
+    }
+
+    @Override
+    public boolean isActiveSection(SectionContext ctx, ServerVerticalConfig config) {
+        int slack = ctx.wasActive() ? hysteresisSections : 0;
+        return anyPlayerInWindow(ctx, config, slack);
+    }
+
+    private boolean anyPlayerInWindow(SectionContext ctx, ServerVerticalConfig config, int slack) {
+        int minY = config.worldHeightConfig().minY();
+        int verticalWindow = config.verticalSectionWindow();
+
+        for (PlayerView player : ctx.nearbyPlayers()) {
+            int distance = player.simulationDistanceChunks();
+            int chunkDist = Math.max(
+                Math.abs(ctx.chunkX() - (player.x() >> 4)),
+                Math.abs(ctx.chunkZ() - (player.z() >> 4))
+            );
+            if (chunkDist > distance) {
+                continue;
+            }
+
+            int playerSectionIndex = (player.y() - minY) >> 4;
+            int lead = leadSections(player.verticalVelocity());
+            int lowest = playerSectionIndex - verticalWindow + Math.min(lead, 0) - slack;
+            int highest = playerSectionIndex + verticalWindow + Math.max(lead, 0) + slack;
+
+            if (ctx.sectionIndex() >= lowest && ctx.sectionIndex() <= highest) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Signed number of sections the player will cover in lookaheadTicks.
+     */
+    private int leadSections(double verticalVelocity) {
+        long lead = Math.round(verticalVelocity * lookaheadTicks / 16.0);
+        return (int) Math.max(-maxLeadSections, Math.min(maxLeadSections, lead));
+    }
+}
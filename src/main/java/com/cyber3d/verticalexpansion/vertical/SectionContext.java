@@ -5,4 +5,7 @@ public interface SectionContext {
     int chunkZ();
     int sectionIndex();
     Iterable<PlayerView> nearbyPlayers();
+
+    /** Whether the section was active in the column's previous mask; false if it had none. */
+    boolean wasActive();
 }
@@ -0,0 +1,318 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.Arrays;
+
+/**
+ * SectionMaskMap maps a packed chunk position to the activity mask of its column.
+ *
+ * Design notes:
+ * - Open addressing with linear probing over parallel primitive arrays, so lookups never box
+ *   the key and never allocate.
+ * - A mask is two longs: bit i of (low, high) is section i. That covers MAX_SECTIONS sections,
+ *   enough for a 2048-block-tall column.
+ * - Removal uses backward-shift deletion, so there are no tombstones and probe chains stay short.
+ * - Entries are threaded on an intrusive doubly linked list (int[] prev/next) in the order they
+ *   were written. Reads only stamp the entry; the list is reordered lazily when evicting, giving
+ *   LRU with second chance without touching the list on the read path.
+ * - Each entry also keeps the time it was last written. Expiry goes by that alone, so a mask
+ *   that is read every tick still ages out; reads only decide which entries the size cap keeps.
+ * - Each entry carries a generation drawn from a map-wide counter whenever its mask changes
+ *   value, so callers can cache something derived from one column and tell whether that column
+ *   changed without caring about the rest of the map. Absent columns read as generation 0.
+ * - Not thread-safe; the manager only touches it from the server thread.
+ */
+final class SectionMaskMap {
+
+    static final int MAX_SECTIONS = 128;
+
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int MIN_CAPACITY = 64;
+
+    private long[] keys;
+    private long[] low;
+    private long[] high;
+    private boolean[] used;
+    private long[] accessed;
+    private long[] written;
+    private long[] generation;
+    private long lastGeneration;
+    private long[] linked;
+    private int[] prev;
+    private int[] next;
+    private int head = -1;
+    private int tail = -1;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    SectionMaskMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /** Slot holding key, or -1 if the key is absent. Valid until the next put or remove. */
+    int slot(long key) {
+        int pos = (int) HashCommon.mix(key) & mask;
+        while (used[pos]) {
+            if (keys[pos] == key) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    long low(int slot) {
+        return low[slot];
+    }
+
+    long high(int slot) {
+        return high[slot];
+    }
+
+    /** Generation of the mask in slot; never 0, and changes whenever the mask changes value. */
+    long generation(int slot) {
+        return generation[slot];
+    }
+
+    /** Bit test on the mask stored in slot; sections outside [0, MAX_SECTIONS) read as set. */
+    boolean isSet(int slot, int sectionIndex) {
+        return isSet(low[slot], high[slot], sectionIndex);
+    }
+
+    /** Record a read at time now; used by evictTo only. */
+    void markAccessed(int slot, long now) {
+        accessed[slot] = now;
+    }
+
+    static boolean isSet(long low, long high, int sectionIndex) {
+        if (sectionIndex < 0 || sectionIndex >= MAX_SECTIONS) {
+            return true;
+        }
+        long word = sectionIndex < 64 ? low : high;
+        return (word & (1L << sectionIndex)) != 0;
+    }
+
+    /**
+     * Insert or replace the mask for key; either way the entry becomes most recently used and
+     * its write time is now.
+     */
+    void put(long key, long lowBits, long highBits, long now) {
+        int pos = (int) HashCommon.mix(key) & mask;
+        while (used[pos]) {
+            if (keys[pos] == key) {
+                if (low[pos] != lowBits || high[pos] != highBits) {
+                    generation[pos] = ++lastGeneration;
+                }
+                low[pos] = lowBits;
+                high[pos] = highBits;
+                accessed[pos] = now;
+                written[pos] = now;
+                moveToTail(pos, now);
+                return;
+            }
+            pos = (pos + 1) & mask;
+        }
+
+        used[pos] = true;
+        keys[pos] = key;
+        low[pos] = lowBits;
+        high[pos] = highBits;
+        generation[pos] = ++lastGeneration;
+        accessed[pos] = now;
+        written[pos] = now;
+        linked[pos] = now;
+        linkLast(pos);
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    boolean remove(long key) {
+        int pos = slot(key);
+        if (pos < 0) {
+            return false;
+        }
+        removeAt(pos);
+        return true;
+    }
+
+    /**
+     * Evict least recently used entries until at most maxSize remain, adding their keys to
+     * evictedKeys. Returns the number evicted.
+     */
+    int evictTo(int maxSize, LongArrayList evictedKeys) {
+        int evicted = 0;
+        while (size > maxSize) {
+            int h = head;
+            if (accessed[h] > linked[h]) {
+                // Read since it was last queued: give it a second chance at the tail.
+                moveToTail(h, accessed[h]);
+            } else {
+                evictedKeys.add(keys[h]);
+                removeAt(h);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Add the keys of entries not written since cutoff to out, regardless of reads. Entries are
+     * left in place; the caller decides whether to drop or refresh them.
+     */
+    void collectWrittenBefore(long cutoff, LongArrayList out) {
+        if (size == 0) {
+            return;
+        }
+        for (int pos = 0; pos < keys.length; pos++) {
+            if (used[pos] && written[pos] < cutoff) {
+                out.add(keys[pos]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(used, false);
+        head = -1;
+        tail = -1;
+        size = 0;
+    }
+
+    private void removeAt(int pos) {
+        unlink(pos);
+        shiftKeys(pos);
+        size--;
+    }
+
+    private void linkLast(int pos) {
+        prev[pos] = tail;
+        next[pos] = -1;
+        if (tail >= 0) {
+            next[tail] = pos;
+        } else {
+            head = pos;
+        }
+        tail = pos;
+    }
+
+    private void unlink(int pos) {
+        if (prev[pos] >= 0) {
+            next[prev[pos]] = next[pos];
+        } else {
+            head = next[pos];
+        }
+        if (next[pos] >= 0) {
+            prev[next[pos]] = prev[pos];
+        } else {
+            tail = prev[pos];
+        }
+    }
+
+    private void moveToTail(int pos, long now) {
+        linked[pos] = now;
+        if (pos != tail) {
+            unlink(pos);
+            linkLast(pos);
+        }
+    }
+
+    /** Entry at from now lives at to; repoint its list neighbours. */
+    private void relink(int from, int to) {
+        prev[to] = prev[from];
+        next[to] = next[from];
+        if (prev[to] >= 0) {
+            next[prev[to]] = to;
+        } else {
+            head = to;
+        }
+        if (next[to] >= 0) {
+            prev[next[to]] = to;
+        } else {
+            tail = to;
+        }
+    }
+
+    private void shiftKeys(int pos) {
+        // Pull later entries of the same probe chain back into the hole left at pos.
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                if (!used[pos]) {
+                    used[last] = false;
+                    return;
+                }
+                int home = (int) HashCommon.mix(keys[pos]) & mask;
+                if (last <= pos ? (last >= home || home > pos) : (last >= home && home > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = keys[pos];
+            low[last] = low[pos];
+            high[last] = high[pos];
+            accessed[last] = accessed[pos];
+            written[last] = written[pos];
+            generation[last] = generation[pos];
+            linked[last] = linked[pos];
+            relink(pos, last);
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldLow = low;
+        long[] oldHigh = high;
+        long[] oldAccessed = accessed;
+        long[] oldWritten = written;
+        long[] oldGeneration = generation;
+        long[] oldLinked = linked;
+        int[] oldNext = next;
+        int oldHead = head;
+
+        allocate(capacity);
+        head = -1;
+        tail = -1;
+        // Walk the old list so recency order survives the resize.
+        for (int i = oldHead; i >= 0; i = oldNext[i]) {
+            int pos = (int) HashCommon.mix(oldKeys[i]) & mask;
+            while (used[pos]) {
+                pos = (pos + 1) & mask;
+            }
+            used[pos] = true;
+            keys[pos] = oldKeys[i];
+            low[pos] = oldLow[i];
+            high[pos] = oldHigh[i];
+            accessed[pos] = oldAccessed[i];
+            written[pos] = oldWritten[i];
+            generation[pos] = oldGeneration[i];
+            linked[pos] = oldLinked[i];
+            linkLast(pos);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        low = new long[capacity];
+        high = new long[capacity];
+        used = new boolean[capacity];
+        accessed = new long[capacity];
+        written = new long[capacity];
+        generation = new long[capacity];
+        linked = new long[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
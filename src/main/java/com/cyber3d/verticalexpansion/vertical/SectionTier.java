@@ -0,0 +1,14 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+/**
+ * How often content in a section should tick.
+ *
+ * ACTIVE sections tick every tick. HALO sections are inactive but within
+ * ServerVerticalConfig#haloSections of an active section in the same column, and tick once
+ * every haloTickInterval ticks. Everything else is FROZEN.
+ */
+public enum SectionTier {
+    ACTIVE,
+    HALO,
+    FROZEN
+}
@@ -8,4 +8,31 @@ public interface ServerVerticalConfig {
     int verticalSectionWindow();
     
     int maxActiveSectionsPerColumn();
+    
+    /** Upper bound on cached column masks per manager; least recently used columns are evicted. */
+    int maxCachedColumns();
+    
+    /** Column masks neither recomputed nor read for this long are dropped. */
+    long cachedColumnTtlMillis();
+    
+    /** Wall-clock time per server tick spent recomputing queued column masks. */
+    long columnUpdateBudgetNanos();
+    
+    /** Inactive sections within this many sections of an active one tick at a reduced rate. */
+    int haloSections();
+    
+    /** Halo sections tick once every this many ticks. */
+    int haloTickInterval();
+    
+    /** Neighbor notifications suppressed in inactive sections that are kept per level for replay. */
+    int maxDeferredNeighborUpdates();
+    
+    /** Deferred neighbor notifications replayed per level per tick once their section is active. */
+    int neighborReplayBudget();
+    
+    /** Natural spawning only picks positions in active sections. */
+    boolean restrictSpawnsToActiveSections();
+    
+    /** Mob caps are counted per vertical terrain band instead of per level. */
+    boolean bandedMobCaps();
 }
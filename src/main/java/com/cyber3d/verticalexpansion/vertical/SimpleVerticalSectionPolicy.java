@@ -1,8 +1,9 @@
 package com.cyber3d.verticalexpansion.vertical;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Vertical window around each player, bounded horizontally by that player's own simulation
+ * distance.
+ */
 public final class SimpleVerticalSectionPolicy implements VerticalSectionPolicy {
 
     @Override
@@ -10,18 +11,16 @@ public final class SimpleVerticalSectionPolicy implements VerticalSectionPolicy
         int minY = config.worldHeightConfig().minY();
         int verticalWindow = config.verticalSectionWindow();
         
-        int playerSectionThreshold = (1 << 4);
-        
         for (PlayerView player : ctx.nearbyPlayers()) {
             int playerChunkX = player.x() >> 4;
             int playerChunkZ = player.z() >> 4;
-            int viewDistance = player.viewDistanceChunks();
+            int distance = player.simulationDistanceChunks();
             
             int chunkDistX = Math.abs(ctx.chunkX() - playerChunkX);
             int chunkDistZ = Math.abs(ctx.chunkZ() - playerChunkZ);
             int chunkDist = Math.max(chunkDistX, chunkDistZ);
             
-            if (chunkDist > viewDistance) {
+            if (chunkDist > distance) {
                 continue;
             }
             
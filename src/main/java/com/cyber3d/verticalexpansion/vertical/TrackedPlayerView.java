@@ -0,0 +1,161 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+
+/**
+ * TrackedPlayerView is the manager's long-lived PlayerView for one online player.
+ *
+ * It remembers the chunk, section and view/simulation distance the player's current masks
+ * were computed for, so the manager can tell whether a tick actually changed anything.
+ *
+ * Distances mirror vanilla: the view distance is the client's requested distance clamped to
+ * [2, server view distance], and the simulation distance is the server's, capped by the view
+ * distance since chunks outside the view square are not loaded for the player.
+ *
+ * Vertical velocity is derived from the last HISTORY_TICKS Y positions rather than the
+ * player's reported motion, so it also covers elytra flight and server-side knockback. A jump
+ * of a section or more in one tick is treated as a teleport and restarts the history.
+ */
+final class TrackedPlayerView implements PlayerView {
+
+    static final int HISTORY_TICKS = 8;
+
+    /** Velocity step (blocks per tick) that counts as a change in vertical motion. */
+    private static final double MOTION_STEP = 1.0;
+    private static final double TELEPORT_DISTANCE = 16.0;
+
+    private int x;
+    private int y;
+    private int z;
+    private int sectionIndex;
+    private int viewDistanceChunks;
+    private int simulationDistanceChunks;
+    private final double[] yHistory = new double[HISTORY_TICKS];
+    private int historyHead;
+    private int historySize;
+    private double verticalVelocity;
+    private long motionStep;
+    long lastSeenTick;
+
+    TrackedPlayerView(int blockX, double y, int blockZ, int viewDistance, int simulationDistance, int minY) {
+        update(blockX, y, blockZ, viewDistance, simulationDistance, minY);
+    }
+
+    private TrackedPlayerView(TrackedPlayerView other) {
+        this.x = other.x;
+        this.y = other.y;
+        this.z = other.z;
+        this.sectionIndex = other.sectionIndex;
+        this.viewDistanceChunks = other.viewDistanceChunks;
+        this.simulationDistanceChunks = other.simulationDistanceChunks;
+        this.verticalVelocity = other.verticalVelocity;
+        this.motionStep = other.motionStep;
+        this.lastSeenTick = other.lastSeenTick;
+    }
+
+    /**
+     * Detached copy for the section worker; never updated after creation.
+     */
+    TrackedPlayerView snapshot() {
+        return new TrackedPlayerView(this);
+    }
+
+    /**
+     * True if the player is in a different chunk or section, or uses a different view or
+     * simulation distance than when last updated. Managers are per level, so a dimension change
+     * shows up as the player leaving one manager and joining another.
+     */
+    boolean windowChanged(int blockX, double y, int blockZ, int viewDistance, int simulationDistance, int minY) {
+        return (blockX >> 4) != chunkX()
+            || (blockZ >> 4) != chunkZ()
+            || ((Mth.floor(y) - minY) >> 4) != sectionIndex
+            || viewDistance != viewDistanceChunks
+            || simulationDistance != simulationDistanceChunks;
+    }
+
+    /**
+     * Record the player's current state. Returns true if vertical velocity moved to another
+     * MOTION_STEP, i.e. predictive policies would now extend the window differently.
+     */
+    boolean update(int blockX, double y, int blockZ, int viewDistance, int simulationDistance, int minY) {
+        this.x = blockX;
+        this.y = Mth.floor(y);
+        this.z = blockZ;
+        this.sectionIndex = (this.y - minY) >> 4;
+        this.viewDistanceChunks = viewDistance;
+        this.simulationDistanceChunks = simulationDistance;
+        
+        recordY(y);
+        long step = Math.round(verticalVelocity / MOTION_STEP);
+        boolean motionChanged = step != motionStep;
+        motionStep = step;
+        return motionChanged;
+    }
+
+    private void recordY(double y) {
+        if (historySize > 0) {
+            double last = yHistory[(historyHead + HISTORY_TICKS - 1) % HISTORY_TICKS];
+            if (Math.abs(y - last) >= TELEPORT_DISTANCE) {
+                historySize = 0;
+            }
+        }
+        yHistory[historyHead] = y;
+        historyHead = (historyHead + 1) % HISTORY_TICKS;
+        historySize = Math.min(historySize + 1, HISTORY_TICKS);
+        
+        if (historySize < 2) {
+            verticalVelocity = 0.0;
+        } else {
+            double oldest = yHistory[(historyHead + HISTORY_TICKS - historySize) % HISTORY_TICKS];
+            verticalVelocity = (y - oldest) / (historySize - 1);
+        }
+    }
+
+    static int viewDistanceFor(ServerPlayer player) {
+        int serverDistance = player.server.getPlayerList().getViewDistance();
+        return Mth.clamp(player.requestedViewDistance(), 2, Math.max(2, serverDistance));
+    }
+
+    static int simulationDistanceFor(ServerPlayer player, int viewDistance) {
+        return Math.min(player.server.getPlayerList().getSimulationDistance(), viewDistance);
+    }
+
+    int chunkX() {
+        return x >> 4;
+    }
+
+    int chunkZ() {
+        return z >> 4;
+    }
+
+    @Override
+    public int x() {
+        return x;
+    }
+
+    @Override
+    public int y() {
+        return y;
+    }
+
+    @Override
+    public int z() {
+        return z;
+    }
+
+    @Override
+    public int viewDistanceChunks() {
+        return viewDistanceChunks;
+    }
+
+    @Override
+    public int simulationDistanceChunks() {
+        return simulationDistanceChunks;
+    }
+
+    @Override
+    public double verticalVelocity() {
+        return verticalVelocity;
+    }
+}
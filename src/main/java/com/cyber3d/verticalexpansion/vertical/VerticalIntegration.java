@@ -1,21 +1,39 @@
 package com.cyber3d.verticalexpansion.vertical;
 
+import com.cyber3d.verticalexpansion.core.DefaultWorldHeightConfig;
 import com.cyber3d.verticalexpansion.core.VerticalExpansionConfig;
+import com.cyber3d.verticalexpansion.core.WorldHeightConfig;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.dimension.DimensionType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Wires VerticalSectionManager into the server lifecycle and tick events.
  * 
  * This is the integration point between the vertical section system and NeoForge events.
  * Version-specific event/lifecycle APIs are routed through separate methods so that
  * PlatformHooks_* implementations can call the appropriate version.
+ * 
+ * Each level gets its own manager, created on its first tick and sized from the level's
+ * DimensionType, so the Nether and End (and modded dimensions) use their real height bounds
+ * instead of the overworld's. All managers share one section worker thread.
  */
 public final class VerticalIntegration {
 
     private static final Logger LOGGER = LoggerFactory.getLogger("VerticalExpansion");
-    private static VerticalSectionManager manager = null;
+    private static final Map<ResourceKey<Level>, VerticalSectionManager> managers = new ConcurrentHashMap<>();
+    private static DefaultServerVerticalConfig baseConfig = null;
+    private static VerticalSectionPolicy policy = null;
+    private static ExecutorService worker = null;
 
     private VerticalIntegration() {
     }
@@ -37,42 +55,128 @@ public final class VerticalIntegration {
     }
 
     private static void initializeManager() {
-        if (manager != null) {
+        if (baseConfig != null) {
             if (VerticalExpansionConfig.isDebugLoggingEnabled()) {
                 LOGGER.debug("VerticalSectionManager already initialized");
             }
             return;
         }
 
-        ServerVerticalConfig config = DefaultServerVerticalConfig.standard(
+        baseConfig = DefaultServerVerticalConfig.standard(
             VerticalExpansionConfig.getWorldHeightConfig()
         );
-        VerticalSectionPolicy policy = new SimpleVerticalSectionPolicy();
-        manager = new VerticalSectionManager(policy, config);
+        policy = new PredictiveVerticalSectionPolicy();
         
         LOGGER.info("VerticalSectionManager initialized with vertical window: {} sections", 
-            config.verticalSectionWindow());
+            baseConfig.verticalSectionWindow());
     }
 
     /**
-     * Get the active VerticalSectionManager instance.
-     * Returns null if not yet initialized.
+     * Get the VerticalSectionManager of a level.
+     * Returns null if not yet initialized or the level has not ticked yet.
      */
-    public static VerticalSectionManager getManager() {
-        return manager;
+    public static VerticalSectionManager getManager(ResourceKey<Level> dimension) {
+        return managers.get(dimension);
     }
 
     /**
      * Called once per server tick to update section activity states.
      * This is hooked into NeoForge's ServerTickEvent via VerticalTickEvents.
      * 
-     * @param server The MinecraftServer instance (may be used for player tracking or world-specific logic in the future).
+     * @param server The MinecraftServer instance; every loaded level is ticked.
      */
     public static void onServerTick(MinecraftServer server) {
+        if (baseConfig == null || server == null) {
+            return;
+        }
+        
+        for (ServerLevel level : server.getAllLevels()) {
+            managers.computeIfAbsent(level.dimension(), key -> createManager(level)).tick(level);
+        }
+    }
+
+    private static VerticalSectionManager createManager(ServerLevel level) {
+        ServerVerticalConfig config = baseConfig.withWorldHeightConfig(heightConfigFor(level));
+        VerticalSectionManager manager = new VerticalSectionManager(level.dimension(), policy, config, worker());
+        
+        if (VerticalExpansionConfig.isDebugLoggingEnabled()) {
+            LOGGER.debug("VerticalSectionManager created for {}: Y [{}, {})", level.dimension().location(),
+                config.worldHeightConfig().minY(), config.worldHeightConfig().maxY());
+        }
+        return manager;
+    }
+
+    /**
+     * Height bounds of the level's DimensionType. Sea level is clamped into range, since some
+     * dimensions report one outside their build height.
+     */
+    private static WorldHeightConfig heightConfigFor(ServerLevel level) {
+        DimensionType type = level.dimensionType();
+        int minY = type.minY();
+        int maxY = minY + type.height();
+        int seaLevel = Math.max(minY, Math.min(maxY, level.getSeaLevel()));
+        return new DefaultWorldHeightConfig(minY, maxY, seaLevel);
+    }
+
+    private static ExecutorService worker() {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "VerticalExpansion-SectionWorker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return worker;
+    }
+
+    /**
+     * Called when a server chunk loads, via VerticalTickEvents.
+     */
+    public static void onChunkLoad(ResourceKey<Level> dimension, int chunkX, int chunkZ) {
+        VerticalSectionManager manager = managers.get(dimension);
         if (manager == null) {
             return;
         }
         
-        manager.tick(server);
+        manager.onChunkLoad(chunkX, chunkZ);
+    }
+
+    /**
+     * Called when a server chunk unloads, via VerticalTickEvents.
+     */
+    public static void onChunkUnload(ResourceKey<Level> dimension, int chunkX, int chunkZ) {
+        VerticalSectionManager manager = managers.get(dimension);
+        if (manager == null) {
+            return;
+        }
+        
+        manager.onChunkUnload(chunkX, chunkZ);
+    }
+
+    /**
+     * Called when a server level unloads; drops that level's masks.
+     */
+    public static void onLevelUnload(ResourceKey<Level> dimension) {
+        VerticalSectionManager manager = managers.remove(dimension);
+        if (manager == null) {
+            return;
+        }
+        
+        manager.shutdown();
+    }
+
+    /**
+     * Called when the server stops; drops every manager and stops the section worker.
+     */
+    public static void onServerStopped() {
+        for (VerticalSectionManager manager : managers.values()) {
+            manager.shutdown();
+        }
+        managers.clear();
+        
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
     }
 }
@@ -1,30 +1,91 @@
 package com.cyber3d.verticalexpansion.vertical;
 
-import net.minecraft.server.MinecraftServer;
-import net.minecraft.world.level.chunk.ChunkAccess;
-import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * VerticalSectionManager tracks which vertical sections of each loaded column of one dimension
+ * are active. VerticalIntegration keeps one per level, configured with that level's own height
+ * bounds.
+ *
+ * Threading: everything except policy evaluation runs on the server thread. Policy evaluation
+ * runs on a single background worker against a snapshot of player windows taken on the server
+ * thread. The mask cache is the front buffer and a MaskBatch is the back buffer: the worker
+ * writes masks into the batch and publishes it through an AtomicReference, and the server
+ * thread swaps it in at the start of the next tick. Readers (CullingEvents, commands) are on
+ * the server thread too, so they always see a whole batch applied or none of it, with no
+ * locking.
+ *
+ * Activity masks are never written to chunk NBT and never mark chunks unsaved; they are
+ * rebuilt from player positions after a restart.
+ */
 public final class VerticalSectionManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger("VerticalExpansion");
+    /** Upper bound on columns handed to the worker per batch. */
+    private static final int MAX_BATCH_COLUMNS = 2048;
 
+    private final ResourceKey<Level> dimension;
     private final VerticalSectionPolicy policy;
     private final ServerVerticalConfig config;
-    private final Map<Long, boolean[]> sectionVisibilityCache = new ConcurrentHashMap<>();
+    private final Executor worker;
+    private final SectionMaskMap sectionVisibilityCache = new SectionMaskMap();
+    private final int numSections;
+    private final Map<UUID, TrackedPlayerView> trackedPlayers = new HashMap<>();
+    private final PlayerChunkIndex playerIndex = new PlayerChunkIndex();
+    private final ColumnUpdateQueue updateQueue = new ColumnUpdateQueue();
+    private final List<PlayerView> viewerScratch = new ArrayList<>();
+    private final LongArrayList maintenanceScratch = new LongArrayList();
+    private PlayerChunkIndex playerSnapshot = new PlayerChunkIndex();
+    private boolean playersChanged;
+    private final AtomicReference<MaskBatch> completedBatch = new AtomicReference<>();
+    private MaskBatch spareBatch = new MaskBatch();
+    private MaskBatch inFlightBatch;
+    /** Worker-owned; only touched inside computeBatch. */
+    private final SectionContextImpl workerContext = new SectionContextImpl(new ArrayList<>());
+    private long currentTick;
+    private long currentMillis;
+    private long lastExpirySweepMillis;
+    private long cacheHits;
+    private long cacheMisses;
+    private long cacheEvictions;
+    private long cacheExpirations;
+    private long cacheUnloads;
+    private int columnsUpdatedLastTick;
+    private long maskGeneration;
+    /** Minimum interval between TTL sweeps of the mask cache. */
     private static final long CACHE_INVALIDATION_MILLIS = 200;
 
-    public VerticalSectionManager(VerticalSectionPolicy policy, ServerVerticalConfig config) {
+    /**
+     * @param dimension the level this manager serves
+     * @param config    config whose worldHeightConfig matches that level's DimensionType
+     * @param worker    runs policy evaluation off the server thread; may be shared by managers
+     */
+    public VerticalSectionManager(
+            ResourceKey<Level> dimension,
+            VerticalSectionPolicy policy,
+            ServerVerticalConfig config,
+            Executor worker
+    ) {
+        this.dimension = dimension;
         this.policy = policy;
         this.config = config;
-    }
-
-    public void updateForTick(Iterable<SectionContext> sections) {
-        for (SectionContext ctx : sections) {
-            boolean active = policy.isActiveSection(ctx, config);
+        this.worker = worker;
+        int minY = config.worldHeightConfig().minY();
+        int maxY = config.worldHeightConfig().maxY();
+        this.numSections = (maxY - minY) / 16;
+        if (numSections > SectionMaskMap.MAX_SECTIONS) {
+            LOGGER.warn("[VerticalExpansion] {} has {} sections per column, more than the {} tracked in "
+                + "activity masks; sections above index {} are always active", dimension.location(),
+                numSections, SectionMaskMap.MAX_SECTIONS, SectionMaskMap.MAX_SECTIONS - 1);
         }
     }
 
@@ -36,94 +97,401 @@ public final class VerticalSectionManager {
         return config;
     }
 
-    public void tick(MinecraftServer server) {
-        if (server == null) {
+    public ResourceKey<Level> getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Recompute masks only where something changed since the last tick.
+     *
+     * A player's window changes when they cross a chunk or section boundary or change view
+     * distance, or when they enter or leave this level. Only then are the columns inside their
+     * old and new view squares queued, so a tick where nobody moved costs one comparison per
+     * player. Queued columns are handed to the worker nearest-first.
+     */
+    public void tick(ServerLevel level) {
+        ColumnLoadCheck loaded = (chunkX, chunkZ) -> level.getChunkSource().getChunkNow(chunkX, chunkZ) != null;
+        beginTick(loaded, System.currentTimeMillis());
+        for (ServerPlayer player : level.players()) {
+            int viewDistance = TrackedPlayerView.viewDistanceFor(player);
+            observePlayer(player.getUUID(), player.getBlockX(), player.getY(), player.getBlockZ(),
+                viewDistance, TrackedPlayerView.simulationDistanceFor(player, viewDistance));
+        }
+        finishTick(loaded);
+    }
+    
+    /**
+     * First part of tick: advance the clock and apply the worker's finished batch. Split out,
+     * with observePlayer and finishTick, so the manager can be driven without a ServerLevel.
+     */
+    void beginTick(ColumnLoadCheck loaded, long nowMillis) {
+        currentTick++;
+        currentMillis = nowMillis;
+        applyCompletedBatch(loaded);
+    }
+    
+    /**
+     * Record one player present in the level this tick and queue whatever their move changed.
+     */
+    void observePlayer(UUID id, int blockX, double y, int blockZ, int viewDistance, int simulationDistance) {
+        int minY = config.worldHeightConfig().minY();
+        TrackedPlayerView view = trackedPlayers.get(id);
+        if (view == null) {
+            view = new TrackedPlayerView(blockX, y, blockZ, viewDistance, simulationDistance, minY);
+            trackedPlayers.put(id, view);
+            playerIndex.add(view);
+            playersChanged = true;
+            queueWindow(view, true);
+        } else if (view.windowChanged(blockX, y, blockZ, viewDistance, simulationDistance, minY)) {
+            queueWindow(view, false);
+            playerIndex.remove(view);
+            view.update(blockX, y, blockZ, viewDistance, simulationDistance, minY);
+            playerIndex.add(view);
+            playersChanged = true;
+            queueWindow(view, true);
+        } else if (view.update(blockX, y, blockZ, viewDistance, simulationDistance, minY)) {
+            // Same window, but vertical motion changed enough to move a predictive lead.
+            playersChanged = true;
+            queueWindow(view, false);
+        }
+        view.lastSeenTick = currentTick;
+    }
+    
+    /**
+     * Last part of tick: forget players not observed this tick, hand queued columns to the
+     * worker and keep the mask cache bounded.
+     */
+    void finishTick(ColumnLoadCheck loaded) {
+        // Players that disconnected or changed dimension.
+        Iterator<TrackedPlayerView> it = trackedPlayers.values().iterator();
+        while (it.hasNext()) {
+            TrackedPlayerView view = it.next();
+            if (view.lastSeenTick != currentTick) {
+                it.remove();
+                playerIndex.remove(view);
+                playersChanged = true;
+                queueWindow(view, false);
+            }
+        }
+        
+        refreshSnapshot();
+        submitNextBatch(loaded);
+        maintainCache();
+    }
+    
+    /**
+     * Rebuild the worker's read-only copy of the player index if any window changed. Copies
+     * are never mutated once built, so a batch in flight keeps a consistent view.
+     */
+    private void refreshSnapshot() {
+        if (!playersChanged) {
+            return;
+        }
+        PlayerChunkIndex snapshot = new PlayerChunkIndex();
+        for (TrackedPlayerView view : trackedPlayers.values()) {
+            snapshot.add(view.snapshot());
+        }
+        playerSnapshot = snapshot;
+        playersChanged = false;
+    }
+    
+    /**
+     * If the worker is idle, fill the spare batch with queued columns, nearest first, and hand
+     * it over. Columns that are not loaded are dropped here, since chunk lookups must stay on
+     * the server thread. Filling stops at MAX_BATCH_COLUMNS or when columnUpdateBudgetNanos is
+     * spent.
+     */
+    private void submitNextBatch(ColumnLoadCheck loaded) {
+        if (inFlightBatch != null || updateQueue.isEmpty()) {
             return;
         }
+        long deadline = System.nanoTime() + config.columnUpdateBudgetNanos();
         
-        server.getAllLevels().forEach(level -> {
-            if (level != null && !level.players().isEmpty()) {
-                for (var player : level.players()) {
-                    int chunkX = (int) player.getX() >> 4;
-                    int chunkZ = (int) player.getZ() >> 4;
-                    
-                    try {
-                        var chunk = level.getChunk(chunkX, chunkZ);
-                        if (chunk instanceof LevelChunk lc) {
-                            updateChunkSections(lc);
-                        }
-                    } catch (Exception e) {
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug("Error updating sections for chunk at ({}, {})", chunkX, chunkZ, e);
-                        }
-                    }
+        MaskBatch batch = spareBatch;
+        batch.reset(playerSnapshot);
+        while (!updateQueue.isEmpty() && batch.size < MAX_BATCH_COLUMNS
+                && (batch.size == 0 || System.nanoTime() < deadline)) {
+            long key = updateQueue.poll();
+            if (!loaded.isLoaded(decodeChunkX(key), decodeChunkZ(key))) {
+                if (sectionVisibilityCache.remove(key)) {
+                    maskGeneration++;
                 }
+                continue;
+            }
+            // Current mask goes along so policies can apply hysteresis at window edges.
+            int slot = sectionVisibilityCache.slot(key);
+            if (slot >= 0) {
+                batch.add(key, sectionVisibilityCache.low(slot), sectionVisibilityCache.high(slot));
+            } else {
+                batch.add(key, 0L, 0L);
             }
+        }
+        if (batch.size == 0) {
+            return;
+        }
+        
+        spareBatch = null;
+        inFlightBatch = batch;
+        worker.execute(() -> {
+            computeBatch(batch);
+            completedBatch.set(batch);
         });
     }
     
-    private void updateChunkSections(LevelChunk chunk) {
-        int chunkX = chunk.getPos().x;
-        int chunkZ = chunk.getPos().z;
-        
-        var level = chunk.getLevel();
-        java.util.List<PlayerView> players = new java.util.ArrayList<>();
+    /**
+     * Apply the batch the worker published since last tick, then keep it as the spare buffer.
+     * Columns that unloaded while the batch was in flight are skipped. Columns no player covers
+     * any more lose their mask instead of getting an all-inactive one, so forceloaded and spawn
+     * chunks fall back to active once the last player leaves.
+     */
+    private void applyCompletedBatch(ColumnLoadCheck loaded) {
+        columnsUpdatedLastTick = 0;
+        MaskBatch batch = completedBatch.getAndSet(null);
+        if (batch == null) {
+            return;
+        }
         
-        for (var player : level.players()) {
-            players.add(new PlayerView() {
-                @Override
-                public int x() {
-                    return (int) player.getX();
+        if (!batch.failed) {
+            for (int i = 0; i < batch.size; i++) {
+                long key = batch.keys[i];
+                if (!loaded.isLoaded(decodeChunkX(key), decodeChunkZ(key))) {
+                    continue;
                 }
-                
-                @Override
-                public int y() {
-                    return (int) player.getY();
+                if (!batch.covered[i]) {
+                    if (sectionVisibilityCache.remove(key)) {
+                        maskGeneration++;
+                    }
+                    continue;
                 }
-                
-                @Override
-                public int z() {
-                    return (int) player.getZ();
+                // Masks are runtime state only; nothing here touches chunk data, so the chunk
+                // is deliberately not marked unsaved.
+                int slot = sectionVisibilityCache.slot(key);
+                if (slot < 0 || sectionVisibilityCache.low(slot) != batch.low[i]
+                        || sectionVisibilityCache.high(slot) != batch.high[i]) {
+                    maskGeneration++;
                 }
-                
-                @Override
-                public int viewDistanceChunks() {
-                    return 8;
+                sectionVisibilityCache.put(key, batch.low[i], batch.high[i], currentMillis);
+                columnsUpdatedLastTick++;
+            }
+        }
+        
+        inFlightBatch = null;
+        spareBatch = batch;
+    }
+    
+    /**
+     * Worker thread: evaluate the policy for every section of every column in the batch.
+     */
+    private void computeBatch(MaskBatch batch) {
+        try {
+            SectionContextImpl ctx = workerContext;
+            for (int i = 0; i < batch.size; i++) {
+                long key = batch.keys[i];
+                ctx.chunkX = decodeChunkX(key);
+                ctx.chunkZ = decodeChunkZ(key);
+                ctx.previousLow = batch.previousLow[i];
+                ctx.previousHigh = batch.previousHigh[i];
+                // Only players whose view square covers this column can activate it.
+                batch.players.playersCovering(ctx.chunkX, ctx.chunkZ, ctx.players);
+                batch.covered[i] = !ctx.players.isEmpty();
+                if (batch.covered[i]) {
+                    computeMask(ctx, batch, i);
                 }
-            });
+            }
+            ctx.players.clear();
+        } catch (Throwable t) {
+            batch.failed = true;
+            LOGGER.warn("[VerticalExpansion] Section mask computation failed for {}", dimension.location(), t);
+        }
+    }
+    
+    /**
+     * Drop all state. Called when the level unloads; a batch still in flight is discarded.
+     */
+    public void shutdown() {
+        completedBatch.set(null);
+        inFlightBatch = null;
+        spareBatch = new MaskBatch();
+        updateQueue.clear();
+        trackedPlayers.clear();
+        playerIndex.clear();
+        playerSnapshot = new PlayerChunkIndex();
+        sectionVisibilityCache.clear();
+        maskGeneration++;
+    }
+    
+    /**
+     * Keep the mask cache bounded and fresh: LRU eviction down to maxCachedColumns every tick,
+     * and a TTL sweep at most every CACHE_INVALIDATION_MILLIS.
+     *
+     * Neither step depends on reads. Culling reads the very sections a mask suppresses, so a
+     * stale mask kept alive by reads would never go away. The sweep goes by write time instead:
+     * a mask not recomputed within cachedColumnTtlMillis is dropped if no player covers its
+     * column, and recomputed if one does. Evicted columns read as active until a player that
+     * still covers them gets them recomputed.
+     */
+    private void maintainCache() {
+        LongArrayList keys = maintenanceScratch;
+        keys.clear();
+        int removed = sectionVisibilityCache.evictTo(config.maxCachedColumns(), keys);
+        cacheEvictions += removed;
+        for (int i = 0; i < keys.size(); i++) {
+            requeueIfCovered(keys.getLong(i));
         }
         
-        int minY = config.worldHeightConfig().minY();
-        int maxY = config.worldHeightConfig().maxY();
-        int sectionHeight = 16;
+        if (currentMillis - lastExpirySweepMillis >= CACHE_INVALIDATION_MILLIS) {
+            lastExpirySweepMillis = currentMillis;
+            keys.clear();
+            sectionVisibilityCache.collectWrittenBefore(currentMillis - config.cachedColumnTtlMillis(), keys);
+            for (int i = 0; i < keys.size(); i++) {
+                long key = keys.getLong(i);
+                if (!requeueIfCovered(key)) {
+                    sectionVisibilityCache.remove(key);
+                    cacheExpirations++;
+                    removed++;
+                }
+            }
+        }
+        keys.clear();
+        if (removed > 0) {
+            maskGeneration++;
+        }
+    }
+    
+    /**
+     * Queue a column for recompute if any player covers it. Returns false if nobody does.
+     */
+    private boolean requeueIfCovered(long key) {
+        int distance = coveringDistance(decodeChunkX(key), decodeChunkZ(key));
+        if (distance == Integer.MAX_VALUE) {
+            return false;
+        }
+        updateQueue.enqueue(key, distance);
+        return true;
+    }
+    
+    /**
+     * Chunk distance to the nearest player whose view square covers the column, or
+     * Integer.MAX_VALUE if there is none.
+     */
+    private int coveringDistance(int chunkX, int chunkZ) {
+        List<PlayerView> viewers = viewerScratch;
+        playerIndex.playersCovering(chunkX, chunkZ, viewers);
+        int distance = Integer.MAX_VALUE;
+        for (PlayerView viewer : viewers) {
+            distance = Math.min(distance, chebyshev((TrackedPlayerView) viewer, chunkX, chunkZ));
+        }
+        viewers.clear();
+        return distance;
+    }
+    
+    /**
+     * Queue a newly loaded column if any player can see it, so view rings fill in as
+     * chunks arrive rather than only when players move.
+     */
+    public void onChunkLoad(int chunkX, int chunkZ) {
+        requeueIfCovered(encodeChunkPos(chunkX, chunkZ));
+    }
+    
+    /**
+     * Drop the cached mask of a column whose chunk was unloaded.
+     */
+    public void onChunkUnload(int chunkX, int chunkZ) {
+        if (sectionVisibilityCache.remove(encodeChunkPos(chunkX, chunkZ))) {
+            maskGeneration++;
+            cacheUnloads++;
+        }
+    }
+    
+    /**
+     * Queue the columns of the player's view square, prioritized by distance to the player.
+     * The old window only needs columns that already have a mask; the new window queues every
+     * column so the whole view ring gets covered.
+     */
+    private void queueWindow(TrackedPlayerView view, boolean includeUncached) {
+        ColumnUpdateQueue queue = updateQueue;
+        int centerX = view.chunkX();
+        int centerZ = view.chunkZ();
+        int radius = view.viewDistanceChunks();
         
-        int numSections = (maxY - minY) / sectionHeight;
-        boolean[] visibility = new boolean[numSections];
+        for (int cz = centerZ - radius; cz <= centerZ + radius; cz++) {
+            for (int cx = centerX - radius; cx <= centerX + radius; cx++) {
+                long key = encodeChunkPos(cx, cz);
+                if (includeUncached || sectionVisibilityCache.slot(key) >= 0) {
+                    queue.enqueue(key, chebyshev(view, cx, cz));
+                }
+            }
+        }
+    }
+    
+    private static int chebyshev(TrackedPlayerView view, int chunkX, int chunkZ) {
+        return Math.max(Math.abs(chunkX - view.chunkX()), Math.abs(chunkZ - view.chunkZ()));
+    }
+    
+    private void computeMask(SectionContextImpl ctx, MaskBatch batch, int index) {
+        long lowBits = 0L;
+        long highBits = 0L;
+        int trackedSections = Math.min(numSections, SectionMaskMap.MAX_SECTIONS);
         
-        for (int sectionIdx = 0; sectionIdx < numSections; sectionIdx++) {
-            SectionContextImpl ctx = new SectionContextImpl(chunkX, chunkZ, sectionIdx, players);
+        for (int sectionIdx = 0; sectionIdx < trackedSections; sectionIdx++) {
+            ctx.sectionIndex = sectionIdx;
             boolean active = policy.isActiveSection(ctx, config);
-            visibility[sectionIdx] = active;
             
             if (active) {
-                chunk.setUnsaved(true);
+                if (sectionIdx < 64) {
+                    lowBits |= 1L << sectionIdx;
+                } else {
+                    highBits |= 1L << sectionIdx;
+                }
             }
         }
         
-        long chunkKey = encodeChunkPos(chunkX, chunkZ);
-        sectionVisibilityCache.put(chunkKey, visibility);
+        batch.low[index] = lowBits;
+        batch.high[index] = highBits;
     }
     
+    /**
+     * One unit of worker output: columns in, masks out. Owned by the worker between submit and
+     * publish, and by the server thread otherwise, so it is never shared while being written.
+     */
+    private static final class MaskBatch {
+        final long[] keys = new long[MAX_BATCH_COLUMNS];
+        final long[] low = new long[MAX_BATCH_COLUMNS];
+        final long[] high = new long[MAX_BATCH_COLUMNS];
+        final long[] previousLow = new long[MAX_BATCH_COLUMNS];
+        final long[] previousHigh = new long[MAX_BATCH_COLUMNS];
+        /** False if no player's view square reached the column; such columns get no mask. */
+        final boolean[] covered = new boolean[MAX_BATCH_COLUMNS];
+        PlayerChunkIndex players;
+        int size;
+        boolean failed;
+        
+        void reset(PlayerChunkIndex players) {
+            this.players = players;
+            this.size = 0;
+            this.failed = false;
+        }
+        
+        void add(long key, long previousLowBits, long previousHighBits) {
+            previousLow[size] = previousLowBits;
+            previousHigh[size] = previousHighBits;
+            keys[size++] = key;
+        }
+    }
+    
+    /**
+     * Reused for every section of a batch on the worker. nearbyPlayers() is refilled per column
+     * from the batch's snapshot PlayerChunkIndex.
+     */
     private static class SectionContextImpl implements SectionContext {
-        private final int chunkX;
-        private final int chunkZ;
-        private final int sectionIndex;
-        private final java.util.List<PlayerView> players;
-        
-        SectionContextImpl(int chunkX, int chunkZ, int sectionIndex, java.util.List<PlayerView> players) {
-            this.chunkX = chunkX;
-            this.chunkZ = chunkZ;
-            this.sectionIndex = sectionIndex;
+        private int chunkX;
+        private int chunkZ;
+        private int sectionIndex;
+        private long previousLow;
+        private long previousHigh;
+        private final List<PlayerView> players;
+        
+        SectionContextImpl(List<PlayerView> players) {
             this.players = players;
         }
         
@@ -146,6 +514,11 @@ public final class VerticalSectionManager {
         public Iterable<PlayerView> nearbyPlayers() {
             return players;
         }
+        
+        @Override
+        public boolean wasActive() {
+            return SectionMaskMap.isSet(previousLow, previousHigh, sectionIndex);
+        }
     }
 
     public boolean isSectionActiveForBlock(int x, int y, int z) {
@@ -156,12 +529,51 @@ public final class VerticalSectionManager {
     }
     
     public boolean isSectionActive(int chunkX, int chunkZ, int sectionIndex) {
-        long chunkKey = encodeChunkPos(chunkX, chunkZ);
-        boolean[] visibility = sectionVisibilityCache.get(chunkKey);
-        if (visibility != null && sectionIndex >= 0 && sectionIndex < visibility.length) {
-            return visibility[sectionIndex];
+        if (sectionIndex < 0 || sectionIndex >= numSections) {
+            return true;
         }
-        return true;
+        int slot = sectionVisibilityCache.slot(encodeChunkPos(chunkX, chunkZ));
+        if (slot < 0) {
+            cacheMisses++;
+            return true;
+        }
+        cacheHits++;
+        sectionVisibilityCache.markAccessed(slot, currentMillis);
+        return sectionVisibilityCache.isSet(slot, sectionIndex);
+    }
+    
+    /**
+     * Tick tier of a section: ACTIVE if its mask bit is set (or the column has no mask), HALO
+     * if an active section of the same column is within haloSections, FROZEN otherwise.
+     */
+    public SectionTier getSectionTier(int chunkX, int chunkZ, int sectionIndex) {
+        if (sectionIndex < 0 || sectionIndex >= numSections) {
+            return SectionTier.ACTIVE;
+        }
+        int slot = sectionVisibilityCache.slot(encodeChunkPos(chunkX, chunkZ));
+        if (slot < 0) {
+            cacheMisses++;
+            return SectionTier.ACTIVE;
+        }
+        cacheHits++;
+        sectionVisibilityCache.markAccessed(slot, currentMillis);
+        return tierOf(sectionVisibilityCache.low(slot), sectionVisibilityCache.high(slot), sectionIndex);
+    }
+    
+    private SectionTier tierOf(long low, long high, int sectionIndex) {
+        if (SectionMaskMap.isSet(low, high, sectionIndex)) {
+            return SectionTier.ACTIVE;
+        }
+        int trackedSections = Math.min(numSections, SectionMaskMap.MAX_SECTIONS);
+        for (int d = 1; d <= config.haloSections(); d++) {
+            int below = sectionIndex - d;
+            int above = sectionIndex + d;
+            if ((below >= 0 && SectionMaskMap.isSet(low, high, below))
+                    || (above < trackedSections && SectionMaskMap.isSet(low, high, above))) {
+                return SectionTier.HALO;
+            }
+        }
+        return SectionTier.FROZEN;
     }
 
     private int getSectionIndexForY(int y) {
@@ -174,12 +586,86 @@ public final class VerticalSectionManager {
         return ((long) x << 32) | (z & 0xFFFFFFFFL);
     }
     
+    private static int decodeChunkX(long key) {
+        return (int) (key >> 32);
+    }
+    
+    private static int decodeChunkZ(long key) {
+        return (int) key;
+    }
+    
     public void clearVisibilityCache() {
         sectionVisibilityCache.clear();
+        maskGeneration++;
+    }
+    
+    /**
+     * Bumped whenever any column's mask changes value or is dropped. Callers that scan many
+     * columns use it to skip the scan when nothing changed; per-column caches should use
+     * getColumnGeneration, which is not disturbed by changes elsewhere in the level.
+     */
+    public long getMaskGeneration() {
+        return maskGeneration;
+    }
+    
+    /**
+     * Generation of one column's mask: changes whenever that column's mask changes value, is
+     * dropped or is created, and is 0 while the column has no mask. A tier read while this was
+     * unchanged is still valid, which lets callers cache tiers per entity.
+     */
+    public long getColumnGeneration(int chunkX, int chunkZ) {
+        int slot = sectionVisibilityCache.slot(encodeChunkPos(chunkX, chunkZ));
+        return slot < 0 ? 0L : sectionVisibilityCache.generation(slot);
     }
     
     public int getCachedSectionsCount() {
         return sectionVisibilityCache.size();
     }
     
+    /** Columns waiting for a mask recompute. */
+    public int getPendingColumnCount() {
+        return updateQueue.size();
+    }
+    
+    /** Columns whose masks were applied from the worker at the start of this tick. */
+    public int getColumnsUpdatedLastTick() {
+        return columnsUpdatedLastTick;
+    }
+    
+    public long getCacheHits() {
+        return cacheHits;
+    }
+    
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+    
+    public double getCacheHitRate() {
+        long lookups = cacheHits + cacheMisses;
+        return lookups == 0 ? 0.0 : (double) cacheHits / lookups;
+    }
+    
+    /** Columns dropped by the maxCachedColumns LRU cap. */
+    public long getCacheEvictions() {
+        return cacheEvictions;
+    }
+    
+    /** Columns dropped by the TTL sweep. */
+    public long getCacheExpirations() {
+        return cacheExpirations;
+    }
+    
+    /** Columns dropped because their chunk unloaded. */
+    public long getCacheUnloads() {
+        return cacheUnloads;
+    }
+    
+    public void resetCacheMetrics() {
+        cacheHits = 0;
+        cacheMisses = 0;
+        cacheEvictions = 0;
+        cacheExpirations = 0;
+        cacheUnloads = 0;
+    }
+    
 }
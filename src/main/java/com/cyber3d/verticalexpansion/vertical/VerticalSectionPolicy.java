@@ -2,5 +2,9 @@ package com.cyber3d.verticalexpansion.vertical;
 
 public interface VerticalSectionPolicy {
     
+    /**
+     * Whether the section should tick: entities, block updates and the like. This is what the
+     * manager's activity masks record.
+     */
     boolean isActiveSection(SectionContext ctx, ServerVerticalConfig config);
 }
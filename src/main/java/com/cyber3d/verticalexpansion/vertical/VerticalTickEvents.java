@@ -1,13 +1,21 @@
 package com.cyber3d.verticalexpansion.vertical;
 
-import net.neoforged.api.distmarker.Dist;
+import net.minecraft.server.level.ServerLevel;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@EventBusSubscriber(modid = "verticalexpansion", value = Dist.DEDICATED_SERVER)
+/**
+ * Drives the VerticalSectionManagers from server events. Registered on both dists: the
+ * integrated server of a singleplayer or LAN world needs managers just like a dedicated one.
+ * Client-only work stays in VerticalRenderingEvents.
+ */
+@EventBusSubscriber(modid = "verticalexpansion")
 public final class VerticalTickEvents {
 
     private static final Logger LOGGER = LoggerFactory.getLogger("VerticalExpansion");
@@ -16,4 +24,33 @@ public final class VerticalTickEvents {
     public static void onServerTickPost(ServerTickEvent.Post event) {
         VerticalIntegration.onServerTick(event.getServer());
     }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        VerticalIntegration.onServerStopped();
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        VerticalIntegration.onChunkLoad(level.dimension(), event.getChunk().getPos().x, event.getChunk().getPos().z);
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        VerticalIntegration.onChunkUnload(level.dimension(), event.getChunk().getPos().x, event.getChunk().getPos().z);
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        VerticalIntegration.onLevelUnload(level.dimension());
+    }
 }
@@ -0,0 +1,47 @@
+package com.cyber3d.verticalexpansion.worldgen;
+
+import com.cyber3d.verticalexpansion.terrain.ColumnSample;
+import com.cyber3d.verticalexpansion.terrain.TerrainHeightFunction;
+import com.cyber3d.verticalexpansion.terrain.WorldTerrainProfile;
+
+/**
+ * TerrainHeightFunction that answers from a HeightAtlas for already-generated chunks and
+ * falls back to the wrapped function everywhere else.
+ *
+ * computeColumn always delegates, since the atlas only stores height and continentalness.
+ */
+public final class AtlasBackedHeightFunction implements TerrainHeightFunction {
+
+    private final HeightAtlas atlas;
+    private final TerrainHeightFunction delegate;
+
+    public AtlasBackedHeightFunction(HeightAtlas atlas, TerrainHeightFunction delegate) {
+        this.atlas = atlas;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int computeHeight(int x, int z, WorldTerrainProfile profile) {
+        int stored = atlas.height(x, z);
+        return stored != HeightAtlas.MISSING ? stored : delegate.computeHeight(x, z, profile);
+    }
+
+    @Override
+    public double computeContinentalness(int x, int z, WorldTerrainProfile profile) {
+        double stored = atlas.continentalness(x, z);
+        return !Double.isNaN(stored) ? stored : delegate.computeContinentalness(x, z, profile);
+    }
+
+    @Override
+    public void computeColumn(int x, int z, WorldTerrainProfile profile, ColumnSample out) {
+        delegate.computeColumn(x, z, profile, out);
+    }
+
+    public HeightAtlas getAtlas() {
+        return atlas;
+    }
+
+    public TerrainHeightFunction getDelegate() {
+        return delegate;
+    }
+}
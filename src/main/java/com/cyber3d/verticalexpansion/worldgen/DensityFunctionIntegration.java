@@ -1,10 +1,14 @@
 package com.cyber3d.verticalexpansion.worldgen;
 
 import com.cyber3d.verticalexpansion.core.VerticalExpansionConfig;
+import com.cyber3d.verticalexpansion.terrain.HeightInterpolation;
+import com.cyber3d.verticalexpansion.terrain.NoiseBasedTerrainHeightFunction;
 import com.cyber3d.verticalexpansion.terrain.TerrainHeightFunction;
+import com.cyber3d.verticalexpansion.terrain.TerrainTileCache;
+import com.cyber3d.verticalexpansion.terrain.TerrainTileGenerator;
+import com.cyber3d.verticalexpansion.terrain.TileCachedHeightFunction;
 import com.cyber3d.verticalexpansion.terrain.WorldTerrainProfile;
-import com.mojang.serialization.Codec;
-import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.mojang.serialization.MapCodec;
 import net.minecraft.util.KeyDispatchDataCodec;
 import net.minecraft.world.level.levelgen.DensityFunction;
 import org.slf4j.Logger;
@@ -19,6 +23,8 @@ public final class DensityFunctionIntegration {
     private final ContinentalnessDensityFunction continentalnessDensityFunction;
     private final TerrainHeightFunction terrainHeightFunction;
     private final WorldTerrainProfile terrainProfile;
+    private final TerrainTileCache tileCache;
+    private final TileCachedHeightFunction cachedHeightFunction;
 
     public DensityFunctionIntegration(
             TerrainHeightFunction terrainHeightFunction,
@@ -26,14 +32,10 @@ public final class DensityFunctionIntegration {
     ) {
         this.terrainHeightFunction = terrainHeightFunction;
         this.terrainProfile = terrainProfile;
-        this.densityFunction = new TerrainHeightDensityFunction(
-            terrainHeightFunction,
-            terrainProfile
-        );
-        this.continentalnessDensityFunction = new ContinentalnessDensityFunction(
-            terrainHeightFunction,
-            terrainProfile
-        );
+        this.tileCache = new TerrainTileCache(terrainHeightFunction, terrainProfile);
+        this.cachedHeightFunction = new TileCachedHeightFunction(tileCache);
+        this.densityFunction = new TerrainHeightDensityFunction(tileCache);
+        this.continentalnessDensityFunction = new ContinentalnessDensityFunction(tileCache);
         DensityFunctionIntegration.instance = this;
     }
 
@@ -49,7 +51,7 @@ public final class DensityFunctionIntegration {
     }
 
     public DensityFunction getTerrainDensityFunction() {
-        return new TerrainHeightDensityFunction(terrainHeightFunction, terrainProfile);
+        return new TerrainHeightDensityFunction(tileCache);
     }
 
     public ContinentalnessDensityFunction getContinentalnessDensityFunction() {
@@ -60,10 +62,33 @@ public final class DensityFunctionIntegration {
         return terrainHeightFunction;
     }
 
+    /**
+     * Height function reading through the tile cache, so single-column lookups agree with
+     * generated terrain in every HeightInterpolation mode.
+     */
+    public TerrainHeightFunction getCachedHeightFunction() {
+        return cachedHeightFunction;
+    }
+
     public WorldTerrainProfile getTerrainProfile() {
         return terrainProfile;
     }
 
+    public TerrainTileCache getTileCache() {
+        return tileCache;
+    }
+
+    /**
+     * Parallel generator for large height areas (pregen planning, structure search, maps).
+     */
+    public TerrainTileGenerator createTileGenerator() {
+        if (!(terrainHeightFunction instanceof NoiseBasedTerrainHeightFunction noiseBased)) {
+            throw new IllegalStateException("Tile generation requires NoiseBasedTerrainHeightFunction, got "
+                + terrainHeightFunction.getClass().getSimpleName());
+        }
+        return new TerrainTileGenerator(noiseBased, terrainProfile);
+    }
+
     public void initialize() {
         LOGGER.info("Initializing DensityFunctionIntegration");
         if (VerticalExpansionConfig.isDebugLoggingEnabled()) {
@@ -87,6 +112,12 @@ public final class DensityFunctionIntegration {
         logSample(100, 100);
         logSample(-200, 300);
 
+        if (terrainProfile.heightInterpolation() != HeightInterpolation.EXACT
+                && terrainHeightFunction instanceof NoiseBasedTerrainHeightFunction noiseBased) {
+            LOGGER.info("[VerticalExpansion] Height interpolation error vs exact: {}",
+                noiseBased.measureInterpolationError(-128, -128, 256, 256, terrainProfile));
+        }
+
         LOGGER.info("DensityFunctionIntegration ready for terrain: {}x{}y{}z with profile {}",
             terrainProfile.continentsScale(),
             terrainProfile.erosionScale(),
@@ -108,26 +139,70 @@ public final class DensityFunctionIntegration {
     }
 
     private void logSample(int x, int z) {
-        int height = terrainHeightFunction.computeHeight(x, z, terrainProfile);
+        int height = tileCache.height(x, z);
         if (VerticalExpansionConfig.isDebugLoggingEnabled()) {
             LOGGER.debug("Sample terrain at ({}, {}): height = {}", x, z, height);
         }
     }
 
+    /**
+     * Both registered functions only depend on (x, z). NoiseChunk fills whole vertical cell
+     * columns at once, so consecutive contexts usually share a column; reuse the last value
+     * until the column changes instead of looking it up per cell corner.
+     */
+    private static void fillByColumn(double[] array, DensityFunction.ContextProvider contextProvider, ColumnLookup lookup) {
+        int lastX = 0;
+        int lastZ = 0;
+        double lastValue = 0.0;
+        boolean hasLast = false;
+
+        for (int i = 0; i < array.length; i++) {
+            DensityFunction.FunctionContext context = contextProvider.forIndex(i);
+            int x = context.blockX();
+            int z = context.blockZ();
+
+            if (!hasLast || x != lastX || z != lastZ) {
+                lastValue = lookup.valueAt(x, z);
+                lastX = x;
+                lastZ = z;
+                hasLast = true;
+            }
+
+            array[i] = lastValue;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ColumnLookup {
+        double valueAt(int x, int z);
+    }
+
     public static final class TerrainHeightDensityFunction implements DensityFunction.SimpleFunction {
-        private final TerrainHeightFunction heightFunction;
-        private final WorldTerrainProfile profile;
+        // The function carries no data of its own: decoding resolves to the live integration's
+        // instance, so datapacks can wrap {"type": "verticalexpansion:terrain_height"} in
+        // minecraft:cache_2d and tools can re-serialize it.
+        public static final KeyDispatchDataCodec<TerrainHeightDensityFunction> CODEC = KeyDispatchDataCodec.of(
+            MapCodec.unit(() -> WorldGenInitializer.getDensityFunctionIntegration().getDensityFunction())
+        );
 
-        public TerrainHeightDensityFunction(TerrainHeightFunction heightFunction, WorldTerrainProfile profile) {
-            this.heightFunction = heightFunction;
-            this.profile = profile;
+        private final TerrainTileCache tileCache;
+        private final ColumnLookup lookup;
+
+        public TerrainHeightDensityFunction(TerrainTileCache tileCache) {
+            this.tileCache = tileCache;
+            this.lookup = tileCache::height;
         }
 
         @Override
         public double compute(DensityFunction.FunctionContext context) {
             int x = context.blockX();
             int z = context.blockZ();
-            return heightFunction.computeHeight(x, z, profile);
+            return tileCache.height(x, z);
+        }
+
+        @Override
+        public void fillArray(double[] array, DensityFunction.ContextProvider contextProvider) {
+            fillByColumn(array, contextProvider, lookup);
         }
 
         @Override
@@ -137,34 +212,43 @@ public final class DensityFunctionIntegration {
 
         @Override
         public double minValue() {
-            return profile.minY();
+            return tileCache.getProfile().minY();
         }
 
         @Override
         public double maxValue() {
-            return profile.maxY();
+            return tileCache.getProfile().maxY();
         }
 
         @Override
         public KeyDispatchDataCodec<? extends DensityFunction> codec() {
-            throw new UnsupportedOperationException("TerrainHeightDensityFunction cannot be serialized");
+            return CODEC;
         }
     }
 
     public static final class ContinentalnessDensityFunction implements DensityFunction.SimpleFunction {
-        private final TerrainHeightFunction heightFunction;
-        private final WorldTerrainProfile profile;
+        public static final KeyDispatchDataCodec<ContinentalnessDensityFunction> CODEC = KeyDispatchDataCodec.of(
+            MapCodec.unit(() -> WorldGenInitializer.getDensityFunctionIntegration().getContinentalnessDensityFunction())
+        );
+
+        private final TerrainTileCache tileCache;
+        private final ColumnLookup lookup;
 
-        public ContinentalnessDensityFunction(TerrainHeightFunction heightFunction, WorldTerrainProfile profile) {
-            this.heightFunction = heightFunction;
-            this.profile = profile;
+        public ContinentalnessDensityFunction(TerrainTileCache tileCache) {
+            this.tileCache = tileCache;
+            this.lookup = tileCache::continentalness;
         }
 
         @Override
         public double compute(DensityFunction.FunctionContext context) {
             int x = context.blockX();
             int z = context.blockZ();
-            return heightFunction.computeContinentalness(x, z, profile);
+            return tileCache.continentalness(x, z);
+        }
+
+        @Override
+        public void fillArray(double[] array, DensityFunction.ContextProvider contextProvider) {
+            fillByColumn(array, contextProvider, lookup);
         }
 
         @Override
@@ -184,7 +268,7 @@ public final class DensityFunctionIntegration {
 
         @Override
         public KeyDispatchDataCodec<? extends DensityFunction> codec() {
-            throw new UnsupportedOperationException("ContinentalnessDensityFunction cannot be serialized");
+            return CODEC;
         }
     }
 }
@@ -0,0 +1,374 @@
+package com.cyber3d.verticalexpansion.worldgen;
+
+import com.cyber3d.verticalexpansion.terrain.TerrainTileCache;
+import com.cyber3d.verticalexpansion.terrain.TerrainTileStore;
+import com.cyber3d.verticalexpansion.terrain.WorldTerrainProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HeightAtlas persists generated surface heights next to a dimension's region files.
+ *
+ * One file per 512x512 region, memory-mapped:
+ * - header: magic, version, terrain profile hash
+ * - presence bitmap: one bit per chunk (32x32 chunks)
+ * - heights: one short per column
+ * - continentalness: one byte per column, quantized from [-1, 1]
+ *
+ * Reads are zero-copy gets from the mapped buffer. A chunk's columns are written before its
+ * presence bit is published (release/acquire on the bitmap word), so readers never see a
+ * half-written chunk. Files written under a different profile hash are reset on open.
+ *
+ * Threading: writes, and the file creation and mapping they need, run on the atlas's own IO
+ * thread (storeGeneratedChunk), never on the server thread. Reads come from worldgen workers
+ * through TerrainTileCache (loadTile) and may open existing files there. At most
+ * MAX_OPEN_REGIONS regions are kept open; past that the least recently used is flushed and
+ * released. Its mapping goes away when the buffer is garbage collected; it is not unmapped
+ * explicitly, since a worker may still be reading from it.
+ */
+public final class HeightAtlas implements TerrainTileStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("VerticalExpansion");
+
+    /** Returned by height() for columns that have not been stored yet. */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private static final int MAGIC = 0x56454841; // "VEHA"
+    private static final int VERSION = 1;
+
+    private static final int REGION_BLOCKS = 512;
+    private static final int REGION_CHUNKS = 32;
+
+    private static final int PRESENCE_OFFSET = 16;
+    private static final int PRESENCE_BYTES = REGION_CHUNKS * REGION_CHUNKS / 8;
+    private static final int HEIGHTS_OFFSET = PRESENCE_OFFSET + PRESENCE_BYTES;
+    private static final int HEIGHTS_BYTES = REGION_BLOCKS * REGION_BLOCKS * 2;
+    private static final int CONTINENTALNESS_OFFSET = HEIGHTS_OFFSET + HEIGHTS_BYTES;
+    private static final int FILE_BYTES = CONTINENTALNESS_OFFSET + REGION_BLOCKS * REGION_BLOCKS;
+
+    private static final int MAX_OPEN_REGIONS = 64;
+
+    private static final VarHandle PRESENCE_WORD =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+    private final long profileHash;
+    private final Map<Long, Region> regions = new ConcurrentHashMap<>();
+    /** Regions with no file yet, so misses on fresh terrain don't stat the disk every time. */
+    private final Set<Long> absentRegions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong useClock = new AtomicLong();
+    private final ExecutorService io;
+
+    public HeightAtlas(Path directory, WorldTerrainProfile profile) {
+        this.directory = directory;
+        this.profileHash = profileHash(profile);
+        this.io = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "VerticalExpansion-HeightAtlas");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isChunkStored(int chunkX, int chunkZ) {
+        Region region = region(chunkX >> 5, chunkZ >> 5, false);
+        return region != null && region.isChunkStored(chunkX & 31, chunkZ & 31);
+    }
+
+    /** Stored surface height at (x, z), or MISSING if the chunk has not been generated. */
+    public int height(int x, int z) {
+        Region region = region(x >> 9, z >> 9, false);
+        if (region == null || !region.isChunkStored((x >> 4) & 31, (z >> 4) & 31)) {
+            return MISSING;
+        }
+        return region.buffer.getShort(HEIGHTS_OFFSET + columnIndex(x, z) * 2);
+    }
+
+    /** Stored continentalness at (x, z), or NaN if the chunk has not been generated. */
+    public double continentalness(int x, int z) {
+        Region region = region(x >> 9, z >> 9, false);
+        if (region == null || !region.isChunkStored((x >> 4) & 31, (z >> 4) & 31)) {
+            return Double.NaN;
+        }
+        return dequantize(region.buffer.get(CONTINENTALNESS_OFFSET + columnIndex(x, z)));
+    }
+
+    @Override
+    public boolean loadTile(int chunkX, int chunkZ, int[] heightsOut, double[] continentalnessOut) {
+        Region region = region(chunkX >> 5, chunkZ >> 5, false);
+        if (region == null || !region.isChunkStored(chunkX & 31, chunkZ & 31)) {
+            return false;
+        }
+
+        int originX = (chunkX & 31) << 4;
+        int originZ = (chunkZ & 31) << 4;
+        for (int dz = 0; dz < 16; dz++) {
+            int row = (originZ + dz) * REGION_BLOCKS + originX;
+            for (int dx = 0; dx < 16; dx++) {
+                int i = (dz << 4) | dx;
+                heightsOut[i] = region.buffer.getShort(HEIGHTS_OFFSET + (row + dx) * 2);
+                continentalnessOut[i] = dequantize(region.buffer.get(CONTINENTALNESS_OFFSET + row + dx));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queue a freshly generated chunk for storing on the IO thread. Its heights are taken from
+     * tiles, where the tile is normally still cached from generating the chunk.
+     */
+    public void storeGeneratedChunk(int chunkX, int chunkZ, TerrainTileCache tiles) {
+        if (io.isShutdown()) {
+            return;
+        }
+        io.execute(() -> {
+            if (isChunkStored(chunkX, chunkZ)) {
+                return;
+            }
+            int[] heights = new int[256];
+            double[] continentalness = new double[256];
+            tiles.copyTile(chunkX, chunkZ, heights, continentalness);
+            storeChunk(chunkX, chunkZ, heights, continentalness);
+        });
+    }
+
+    /**
+     * Store a generated chunk. Arrays are 16x16, row-major by z (index = (dz << 4) | dx).
+     * Creates and maps the region file if needed, so keep this off the server thread.
+     */
+    public void storeChunk(int chunkX, int chunkZ, int[] heights, double[] continentalness) {
+        Region region = region(chunkX >> 5, chunkZ >> 5, true);
+        if (region == null) {
+            return;
+        }
+
+        int originX = (chunkX & 31) << 4;
+        int originZ = (chunkZ & 31) << 4;
+        for (int dz = 0; dz < 16; dz++) {
+            int row = (originZ + dz) * REGION_BLOCKS + originX;
+            for (int dx = 0; dx < 16; dx++) {
+                int i = (dz << 4) | dx;
+                region.buffer.putShort(HEIGHTS_OFFSET + (row + dx) * 2, (short) heights[i]);
+                region.buffer.put(CONTINENTALNESS_OFFSET + row + dx, quantize(continentalness[i]));
+            }
+        }
+
+        region.markChunkStored(chunkX & 31, chunkZ & 31);
+    }
+
+    public void flush() {
+        for (Region region : regions.values()) {
+            region.buffer.force();
+        }
+    }
+
+    /**
+     * Finish queued writes, then flush and unmap every region.
+     */
+    public void close() {
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warn("[VerticalExpansion] Height atlas writes for {} did not finish in time", directory);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        regions.clear();
+        absentRegions.clear();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Stable hash of every profile value that affects generated heights. Atlas files written
+     * under a different hash are discarded.
+     */
+    public static long profileHash(WorldTerrainProfile profile) {
+        long h = 1125899906842597L;
+        h = mix(h, profile.minY());
+        h = mix(h, profile.maxY());
+        h = mix(h, profile.seaLevel());
+        h = mix(h, profile.continentsScale());
+        h = mix(h, profile.erosionScale());
+        h = mix(h, profile.ridgeScale());
+        h = mix(h, profile.valleyScale());
+        h = mix(h, profile.detailScale());
+        h = mix(h, profile.baseHeightAmplitude());
+        h = mix(h, profile.mountainBoostAmplitude());
+        h = mix(h, profile.valleyDepth());
+        h = mix(h, profile.extremeMountainBoost());
+        h = mix(h, profile.enableSkyTerrain() ? 1 : 0);
+        h = mix(h, profile.enableMegaMountains() ? 1 : 0);
+        h = mix(h, profile.oceanThreshold());
+        h = mix(h, profile.deepOceanThreshold());
+        h = mix(h, profile.shallowOceanDepth());
+        h = mix(h, profile.deepOceanDepth());
+        h = mix(h, profile.riverWidth());
+        h = mix(h, profile.riverMaxDepth());
+        h = mix(h, profile.landRavineStrength());
+        h = mix(h, profile.oceanRavineStrength());
+        h = mix(h, profile.ravineFrequency());
+        h = mix(h, profile.ravineStretch());
+        h = mix(h, profile.erosionStrength());
+        h = mix(h, profile.erosionThreshold());
+        h = mix(h, profile.erosionFlattenMultiplier());
+        h = mix(h, profile.erosionRidgeMultiplier());
+        h = mix(h, profile.heightInterpolation().ordinal());
+        h = mix(h, profile.interpolationCellSize());
+        return h;
+    }
+
+    private static long mix(long h, double value) {
+        return mix(h, Double.doubleToLongBits(value));
+    }
+
+    private static long mix(long h, long value) {
+        return 31 * h + (value ^ (value >>> 32));
+    }
+
+    private static int columnIndex(int x, int z) {
+        return (z & (REGION_BLOCKS - 1)) * REGION_BLOCKS + (x & (REGION_BLOCKS - 1));
+    }
+
+    private static byte quantize(double continentalness) {
+        double clamped = Math.max(-1.0, Math.min(1.0, continentalness));
+        return (byte) (Math.round((clamped + 1.0) * 127.5) - 128);
+    }
+
+    private static double dequantize(byte value) {
+        return (value + 128) / 127.5 - 1.0;
+    }
+
+    private Region region(int regionX, int regionZ, boolean create) {
+        long key = ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+        Region region = regions.get(key);
+        if (region != null) {
+            region.lastUsed = useClock.incrementAndGet();
+            return region;
+        }
+        if (!create && absentRegions.contains(key)) {
+            return null;
+        }
+
+        Path file = directory.resolve("h." + regionX + "." + regionZ + ".vha");
+        if (!create && !Files.exists(file)) {
+            absentRegions.add(key);
+            return null;
+        }
+
+        synchronized (this) {
+            region = regions.get(key);
+            if (region != null) {
+                region.lastUsed = useClock.incrementAndGet();
+                return region;
+            }
+            region = openRegion(file);
+            if (region == null) {
+                return null;
+            }
+            evictIfFull();
+            region.lastUsed = useClock.incrementAndGet();
+            regions.put(key, region);
+            absentRegions.remove(key);
+            return region;
+        }
+    }
+
+    private Region openRegion(Path file) {
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                boolean fresh = channel.size() < FILE_BYTES;
+                // The mapping stays valid after the channel is closed.
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_BYTES);
+                buffer.order(ByteOrder.BIG_ENDIAN);
+
+                if (fresh
+                        || buffer.getInt(0) != MAGIC
+                        || buffer.getInt(4) != VERSION
+                        || buffer.getLong(8) != profileHash) {
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(4, VERSION);
+                    buffer.putLong(8, profileHash);
+                    for (int i = 0; i < PRESENCE_BYTES; i++) {
+                        buffer.put(PRESENCE_OFFSET + i, (byte) 0);
+                    }
+                }
+                return new Region(buffer);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("[VerticalExpansion] Could not open height atlas file {}", file, e);
+            return null;
+        }
+    }
+
+    /** Flush and release the least recently used region if the open limit is reached. Caller holds the lock. */
+    private void evictIfFull() {
+        if (regions.size() < MAX_OPEN_REGIONS) {
+            return;
+        }
+        long oldestKey = 0;
+        Region oldest = null;
+        for (Map.Entry<Long, Region> entry : regions.entrySet()) {
+            Region region = entry.getValue();
+            if (oldest == null || region.lastUsed < oldest.lastUsed) {
+                oldest = region;
+                oldestKey = entry.getKey();
+            }
+        }
+        if (oldest != null) {
+            oldest.buffer.force();
+            regions.remove(oldestKey);
+        }
+    }
+
+    private static final class Region {
+        final MappedByteBuffer buffer;
+        /** useClock value of the last lookup; the smallest is evicted first. */
+        volatile long lastUsed;
+
+        Region(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean isChunkStored(int localChunkX, int localChunkZ) {
+            int bit = localChunkZ * REGION_CHUNKS + localChunkX;
+            int word = (int) PRESENCE_WORD.getAcquire(buffer, PRESENCE_OFFSET + (bit >>> 5) * 4);
+            return (word & (1 << (bit & 31))) != 0;
+        }
+
+        void markChunkStored(int localChunkX, int localChunkZ) {
+            int bit = localChunkZ * REGION_CHUNKS + localChunkX;
+            int offset = PRESENCE_OFFSET + (bit >>> 5) * 4;
+            int mask = 1 << (bit & 31);
+            int word;
+            do {
+                word = (int) PRESENCE_WORD.getAcquire(buffer, offset);
+                if ((word & mask) != 0) {
+                    return;
+                }
+            } while (!PRESENCE_WORD.compareAndSet(buffer, offset, word, word | mask));
+        }
+    }
+}
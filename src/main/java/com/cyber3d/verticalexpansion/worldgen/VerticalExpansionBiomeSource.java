@@ -1,23 +1,34 @@
 package com.cyber3d.verticalexpansion.worldgen;
 
 import com.cyber3d.verticalexpansion.terrain.TerrainHeightFunction;
+import com.cyber3d.verticalexpansion.terrain.TerrainTileCache;
 import com.cyber3d.verticalexpansion.terrain.WorldTerrainProfile;
 
 public final class VerticalExpansionBiomeSource {
 
     private final TerrainHeightFunction heightFunction;
     private final WorldTerrainProfile profile;
+    private final TerrainTileCache tileCache;
 
     public VerticalExpansionBiomeSource(
             TerrainHeightFunction heightFunction,
             WorldTerrainProfile profile
     ) {
-        this.heightFunction = heightFunction;
-        this.profile = profile;
+        this(new TerrainTileCache(heightFunction, profile));
+    }
+
+    /**
+     * Share an existing tile cache (usually DensityFunctionIntegration#getTileCache) so biome
+     * lookups reuse the heights already computed for the noise router.
+     */
+    public VerticalExpansionBiomeSource(TerrainTileCache tileCache) {
+        this.heightFunction = tileCache.getHeightFunction();
+        this.profile = tileCache.getProfile();
+        this.tileCache = tileCache;
     }
 
     public int getHeight(int x, int z) {
-        return heightFunction.computeHeight(x, z, profile);
+        return tileCache.height(x, z);
     }
 
     public int getBand(int height) {
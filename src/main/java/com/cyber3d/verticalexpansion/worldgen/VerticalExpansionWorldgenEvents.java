@@ -1,17 +1,31 @@
 package com.cyber3d.verticalexpansion.worldgen;
 
 import com.cyber3d.verticalexpansion.core.VerticalExpansionConfig;
-import net.neoforged.api.distmarker.Dist;
+import com.cyber3d.verticalexpansion.terrain.TerrainHeightFunction;
+import com.cyber3d.verticalexpansion.terrain.TerrainTileCache;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.dimension.DimensionType;
+import net.minecraft.world.level.storage.LevelResource;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @EventBusSubscriber(modid = "verticalexpansion")
 public final class VerticalExpansionWorldgenEvents {
 
     private static final Logger LOGGER = LoggerFactory.getLogger("VerticalExpansion");
+    private static final String HEIGHT_ATLAS_DIR = "verticalexpansion_heights";
+
+    private static final Map<ResourceKey<Level>, HeightAtlas> HEIGHT_ATLASES = new ConcurrentHashMap<>();
 
     @SubscribeEvent
     public static void onLevelLoad(LevelEvent.Load event) {
@@ -19,6 +33,69 @@ public final class VerticalExpansionWorldgenEvents {
             VerticalExpansionConfig.getWorldHeightConfig().minY(),
             VerticalExpansionConfig.getWorldHeightConfig().maxY()
         );
+
+        if (!(event.getLevel() instanceof ServerLevel level) || !level.dimension().equals(Level.OVERWORLD)) {
+            return;
+        }
+
+        Path root = level.getServer().getWorldPath(LevelResource.ROOT);
+        Path directory = DimensionType.getStorageFolder(level.dimension(), root).resolve(HEIGHT_ATLAS_DIR);
+        DensityFunctionIntegration integration = WorldGenInitializer.getDensityFunctionIntegration();
+        HeightAtlas atlas = new HeightAtlas(directory, integration.getTerrainProfile());
+        HEIGHT_ATLASES.put(level.dimension(), atlas);
+        // Tile cache misses for chunks generated in an earlier session are read from the atlas.
+        integration.getTileCache().setStore(atlas);
+
+        if (VerticalExpansionConfig.isDebugLoggingEnabled()) {
+            LOGGER.debug("Height atlas for {} stored in {}", level.dimension().location(), directory);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        HeightAtlas atlas = HEIGHT_ATLASES.remove(level.dimension());
+        if (atlas != null) {
+            TerrainTileCache tiles = WorldGenInitializer.getDensityFunctionIntegration().getTileCache();
+            if (tiles.getStore() == atlas) {
+                tiles.setStore(null);
+            }
+            atlas.close();
+        }
     }
-}
 
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!event.isNewChunk() || !(event.getLevel() instanceof ServerLevel level)) {
+            return;
+        }
+        HeightAtlas atlas = HEIGHT_ATLASES.get(level.dimension());
+        if (atlas == null) {
+            return;
+        }
+
+        // File access happens on the atlas's IO thread, not here on the server thread.
+        atlas.storeGeneratedChunk(event.getChunk().getPos().x, event.getChunk().getPos().z,
+            WorldGenInitializer.getDensityFunctionIntegration().getTileCache());
+    }
+
+    /**
+     * Height atlas for the given level, or null if the level does not persist heights.
+     */
+    public static HeightAtlas getHeightAtlas(ResourceKey<Level> dimension) {
+        return HEIGHT_ATLASES.get(dimension);
+    }
+
+    /**
+     * The mod's height function, answering from the level's height atlas where chunks have
+     * already been generated and from the worldgen tile cache elsewhere, so it matches what
+     * the chunk generator sees.
+     */
+    public static TerrainHeightFunction heightFunctionFor(ResourceKey<Level> dimension) {
+        TerrainHeightFunction heightFunction = WorldGenInitializer.getDensityFunctionIntegration().getCachedHeightFunction();
+        HeightAtlas atlas = HEIGHT_ATLASES.get(dimension);
+        return atlas != null ? new AtlasBackedHeightFunction(atlas, heightFunction) : heightFunction;
+    }
+}
@@ -27,6 +27,11 @@ public final class VerticalDatapackBootstrap {
     @SubscribeEvent
     public static void onRegister(RegisterEvent event) {
 
+        if (event.getRegistryKey().equals(Registries.DENSITY_FUNCTION_TYPE)) {
+            registerDensityFunctionTypes(event);
+            return;
+        }
+
         if (!event.getRegistryKey().equals(Registries.DENSITY_FUNCTION)) {
             return;
         }
@@ -66,4 +71,27 @@ public final class VerticalDatapackBootstrap {
             }
         });
     }
+
+    /**
+     * Registers the codecs behind {"type": "verticalexpansion:terrain_height"} and
+     * {"type": "verticalexpansion:continentalness"} so datapacks can nest our functions
+     * inside vanilla wrappers such as minecraft:cache_2d.
+     */
+    private static void registerDensityFunctionTypes(RegisterEvent event) {
+        event.register(Registries.DENSITY_FUNCTION_TYPE, helper -> {
+            LOGGER.info("[VerticalExpansion] Registering DensityFunction types:");
+            LOGGER.info("  - {}", VerticalDensityBootstrap.TERRAIN_HEIGHT_TYPE.location());
+            LOGGER.info("  - {}", VerticalDensityBootstrap.CONTINENTALNESS_TYPE.location());
+
+            helper.register(
+                    VerticalDensityBootstrap.TERRAIN_HEIGHT_TYPE.location(),
+                    DensityFunctionIntegration.TerrainHeightDensityFunction.CODEC.codec()
+            );
+
+            helper.register(
+                    VerticalDensityBootstrap.CONTINENTALNESS_TYPE.location(),
+                    DensityFunctionIntegration.ContinentalnessDensityFunction.CODEC.codec()
+            );
+        });
+    }
 }
@@ -1,6 +1,7 @@
 package com.cyber3d.verticalexpansion.worldgen.bootstrap;
 
 import com.cyber3d.verticalexpansion.worldgen.DensityFunctionIntegration;
+import com.mojang.serialization.MapCodec;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
@@ -20,6 +21,14 @@ public final class VerticalDensityBootstrap {
         ResourceKey.create(Registries.DENSITY_FUNCTION,
             ResourceLocation.parse("verticalexpansion:continentalness"));
 
+    public static final ResourceKey<MapCodec<? extends DensityFunction>> TERRAIN_HEIGHT_TYPE =
+        ResourceKey.create(Registries.DENSITY_FUNCTION_TYPE,
+            ResourceLocation.parse("verticalexpansion:terrain_height"));
+
+    public static final ResourceKey<MapCodec<? extends DensityFunction>> CONTINENTALNESS_TYPE =
+        ResourceKey.create(Registries.DENSITY_FUNCTION_TYPE,
+            ResourceLocation.parse("verticalexpansion:continentalness"));
+
     public static void initialize() {
         LOGGER.info("[VerticalExpansion] DensityFunction bootstrap:");
         LOGGER.info("  - Terrain: {}", TERRAIN_HEIGHT);
@@ -0,0 +1,122 @@
+package com.cyber3d.verticalexpansion.vertical;
+
+import com.cyber3d.verticalexpansion.core.DefaultWorldHeightConfig;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a VerticalSectionManager through beginTick/observePlayer/finishTick with a same-thread
+ * worker and a level in which every column stays loaded, like forceloaded or spawn chunks.
+ */
+class VerticalSectionManagerTest {
+
+    private static final ResourceKey<Level> DIMENSION =
+        ResourceKey.create(Registries.DIMENSION, ResourceLocation.fromNamespaceAndPath("verticalexpansion", "test"));
+    private static final ColumnLoadCheck ALWAYS_LOADED = (chunkX, chunkZ) -> true;
+    private static final int SECTIONS = (320 - -64) / 16;
+    private static final int DISTANCE = 8;
+    /** Chunk next to the player's, never unloaded. */
+    private static final int FORCED_X = 1;
+    private static final int FORCED_Z = 0;
+
+    private final UUID player = UUID.randomUUID();
+    private final UUID farPlayer = UUID.randomUUID();
+    private boolean farPlayerPresent;
+    private VerticalSectionManager manager;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        DefaultServerVerticalConfig config =
+            DefaultServerVerticalConfig.standard(new DefaultWorldHeightConfig(-64, 320, 63));
+        manager = new VerticalSectionManager(DIMENSION, new SimpleVerticalSectionPolicy(), config, Runnable::run);
+        now = 1_000L;
+    }
+
+    @Test
+    void forcedColumnIsActiveAfterLastPlayerLeaves() {
+        settle(true);
+        assertEquals(SectionTier.FROZEN, manager.getSectionTier(FORCED_X, FORCED_Z, 0));
+        assertEquals(SectionTier.ACTIVE, manager.getSectionTier(FORCED_X, FORCED_Z, 8));
+
+        settle(false);
+        assertAllActive();
+    }
+
+    @Test
+    void forcedColumnIsActiveAfterLeavingEvenWhileReadEveryTick() {
+        settle(true);
+        // Culling re-reads the tier of every entity in the column every tick.
+        for (int tick = 0; tick < 100; tick++) {
+            tick(tick < 10);
+            manager.getSectionTier(FORCED_X, FORCED_Z, 0);
+            now += 50;
+        }
+        assertAllActive();
+    }
+
+    @Test
+    void maskReadEveryTickIsStillRecomputedAfterTtl() {
+        settle(true);
+        long written = now;
+        long ttl = DefaultServerVerticalConfig.DEFAULT_CACHED_COLUMN_TTL_MILLIS;
+        boolean recomputed = false;
+        while (now < written + ttl + 1_000L) {
+            tick(true);
+            manager.getSectionTier(FORCED_X, FORCED_Z, 0);
+            recomputed |= now > written + ttl && manager.getColumnsUpdatedLastTick() > 0;
+            now += 50;
+        }
+        assertTrue(recomputed, "a mask read every tick must still age out and be recomputed");
+    }
+
+    @Test
+    void columnGenerationIgnoresMaskChangesElsewhere() {
+        settle(true);
+        long column = manager.getColumnGeneration(FORCED_X, FORCED_Z);
+        long level = manager.getMaskGeneration();
+
+        farPlayerPresent = true;
+        settle(true);
+
+        assertTrue(manager.getMaskGeneration() != level, "masks around the far player were added");
+        assertEquals(column, manager.getColumnGeneration(FORCED_X, FORCED_Z));
+    }
+
+    private void assertAllActive() {
+        for (int section = 0; section < SECTIONS; section++) {
+            assertEquals(SectionTier.ACTIVE, manager.getSectionTier(FORCED_X, FORCED_Z, section),
+                "section " + section);
+        }
+    }
+
+    /** Tick until the queue is drained and the last batch is applied. */
+    private void settle(boolean playerPresent) {
+        for (int i = 0; i < 10_000 && manager.getPendingColumnCount() > 0 || i < 2; i++) {
+            tick(playerPresent);
+            now += 50;
+        }
+        tick(playerPresent);
+        now += 50;
+    }
+
+    private void tick(boolean playerPresent) {
+        manager.beginTick(ALWAYS_LOADED, now);
+        if (playerPresent) {
+            manager.observePlayer(player, 8, 64.0, 8, DISTANCE, DISTANCE);
+        }
+        if (farPlayerPresent) {
+            manager.observePlayer(farPlayer, 1600, 64.0, 1600, DISTANCE, DISTANCE);
+        }
+        manager.finishTick(ALWAYS_LOADED);
+    }
+}